@@ -0,0 +1,12 @@
+package org.example.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveStudentsApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveStudentsApplication.class, args);
+    }
+}
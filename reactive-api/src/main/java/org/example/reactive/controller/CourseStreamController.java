@@ -0,0 +1,40 @@
+package org.example.reactive.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import org.example.reactive.response.CourseResponse;
+import org.example.reactive.response.StudentResponse;
+import org.example.reactive.service.StudentReadService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/private/courses")
+@CrossOrigin("*")
+public class CourseStreamController {
+
+    private final StudentReadService studentReadService;
+
+    public CourseStreamController(StudentReadService studentReadService) {
+        this.studentReadService = studentReadService;
+    }
+
+    @Operation(summary = "Stream all courses ordered by id")
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<CourseResponse> streamCourses() {
+        return studentReadService.streamCourses();
+    }
+
+    @Operation(summary = "Get a course by id")
+    @GetMapping("/{courseId}")
+    public Mono<CourseResponse> retrieveCourseById(@PathVariable(name = "courseId") Long courseId) {
+        return studentReadService.retrieveCourseById(courseId);
+    }
+
+    @Operation(summary = "Stream the students enrolled in a course ordered by id")
+    @GetMapping(value = "/{courseId}/students", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<StudentResponse> streamCourseStudents(@PathVariable(name = "courseId") Long courseId) {
+        return studentReadService.streamCourseStudents(courseId);
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.reactive.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import org.example.reactive.response.StudentResponse;
+import org.example.reactive.response.StudentWithCoursesResponse;
+import org.example.reactive.service.StudentReadService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/private/students")
+@CrossOrigin("*")
+public class StudentStreamController {
+
+    private final StudentReadService studentReadService;
+
+    public StudentStreamController(StudentReadService studentReadService) {
+        this.studentReadService = studentReadService;
+    }
+
+    @Operation(summary = "Stream all students ordered by id")
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<StudentResponse> streamStudents() {
+        return studentReadService.streamStudents();
+    }
+
+    @Operation(summary = "Get a student by his/her id")
+    @GetMapping("/{studentId}")
+    public Mono<StudentResponse> retrieveStudentById(@PathVariable(name = "studentId") Long studentId) {
+        return studentReadService.retrieveStudentById(studentId);
+    }
+
+    @Operation(summary = "Get a student and his courses by student's id")
+    @GetMapping("/{studentId}/courses")
+    public Mono<StudentWithCoursesResponse> retrieveStudentByIdWithCourses(@PathVariable(name = "studentId") Long studentId) {
+        return studentReadService.retrieveStudentByIdWithCourses(studentId);
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.reactive.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String id, String resource) {
+        super(String.format("Resource %s not found : %s", resource, id));
+    }
+}
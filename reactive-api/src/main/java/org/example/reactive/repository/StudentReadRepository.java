@@ -0,0 +1,84 @@
+package org.example.reactive.repository;
+
+import io.r2dbc.spi.Row;
+import org.example.reactive.response.CourseResponse;
+import org.example.reactive.response.StudentResponse;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only queries over the tables owned by the servlet application.
+ */
+@Repository
+public class StudentReadRepository {
+
+    private static final String STUDENT_COLUMNS = "s.id, s.first_name, s.last_name, s.birth_date, s.gender";
+    private static final String COURSE_COLUMNS = "c.id, c.name, c.phase";
+
+    private final DatabaseClient databaseClient;
+
+    public StudentReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<StudentResponse> findStudentById(long id) {
+        return databaseClient.sql("select " + STUDENT_COLUMNS + " from student s where s.id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> student(row))
+                .one();
+    }
+
+    public Flux<StudentResponse> findStudentsAfter(long after, int limit) {
+        return databaseClient.sql("select " + STUDENT_COLUMNS + " from student s where s.id > :after order by s.id limit :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map((row, metadata) -> student(row))
+                .all();
+    }
+
+    public Flux<StudentResponse> findCourseStudentsAfter(long courseId, long after, int limit) {
+        return databaseClient.sql("select " + STUDENT_COLUMNS + " from student_courses sc join student s on s.id = sc.student_id " +
+                        "where sc.course_id = :courseId and sc.student_id > :after order by sc.student_id limit :limit")
+                .bind("courseId", courseId)
+                .bind("after", after)
+                .bind("limit", limit)
+                .map((row, metadata) -> student(row))
+                .all();
+    }
+
+    public Mono<CourseResponse> findCourseById(long id) {
+        return databaseClient.sql("select " + COURSE_COLUMNS + " from course c where c.id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> course(row))
+                .one();
+    }
+
+    public Flux<CourseResponse> findCoursesAfter(long after, int limit) {
+        return databaseClient.sql("select " + COURSE_COLUMNS + " from course c where c.id > :after order by c.id limit :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map((row, metadata) -> course(row))
+                .all();
+    }
+
+    public Flux<CourseResponse> findCoursesOfStudent(long studentId) {
+        return databaseClient.sql("select " + COURSE_COLUMNS + " from student_courses sc join course c on c.id = sc.course_id " +
+                        "where sc.student_id = :studentId order by c.id")
+                .bind("studentId", studentId)
+                .map((row, metadata) -> course(row))
+                .all();
+    }
+
+    private static StudentResponse student(Row row) {
+        return new StudentResponse(row.get("id", Long.class), row.get("first_name", String.class), row.get("last_name", String.class),
+                row.get("birth_date", LocalDate.class), row.get("gender", String.class));
+    }
+
+    private static CourseResponse course(Row row) {
+        return new CourseResponse(row.get("id", Long.class), row.get("name", String.class), row.get("phase", Integer.class));
+    }
+}
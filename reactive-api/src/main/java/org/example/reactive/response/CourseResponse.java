@@ -0,0 +1,26 @@
+package org.example.reactive.response;
+
+public class CourseResponse {
+
+    private Long id;
+    private String name;
+    private int phase;
+
+    public CourseResponse(Long id, String name, int phase) {
+        this.id = id;
+        this.name = name;
+        this.phase = phase;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPhase() {
+        return phase;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.reactive.response;
+
+import java.time.LocalDate;
+
+public class StudentResponse {
+
+    private Long id;
+    private String name;
+    private LocalDate birthDate;
+    private String gender;
+
+    public StudentResponse(Long id, String firstName, String lastName, LocalDate birthDate, String gender) {
+        this.id = id;
+        this.name = lastName + " " + firstName;
+        this.birthDate = birthDate;
+        this.gender = gender;
+    }
+
+    protected StudentResponse(StudentResponse student) {
+        this.id = student.id;
+        this.name = student.name;
+        this.birthDate = student.birthDate;
+        this.gender = student.gender;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDate getBirthDate() {
+        return birthDate;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+}
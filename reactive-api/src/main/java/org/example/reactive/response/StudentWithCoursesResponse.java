@@ -0,0 +1,17 @@
+package org.example.reactive.response;
+
+import java.util.List;
+
+public class StudentWithCoursesResponse extends StudentResponse {
+
+    private List<CourseResponse> courses;
+
+    public StudentWithCoursesResponse(StudentResponse student, List<CourseResponse> courses) {
+        super(student);
+        this.courses = courses;
+    }
+
+    public List<CourseResponse> getCourses() {
+        return courses;
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.reactive.service;
+
+import reactor.core.publisher.Flux;
+
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Streams a whole table as a sequence of keyset pages. The next page is only queried once the subscriber has
+ * requested past the current one, so a slow consumer holds at most one page in memory and no open cursor.
+ */
+public final class KeysetStream {
+
+    private KeysetStream() {
+    }
+
+    public static <T> Flux<T> of(LongFunction<Flux<T>> pageAfter, ToLongFunction<T> key, int pageSize) {
+        return pageAfter.apply(0L).collectList()
+                .expand(page -> page.size() < pageSize
+                        ? Flux.empty()
+                        : pageAfter.apply(key.applyAsLong(page.get(page.size() - 1))).collectList())
+                .concatMapIterable(page -> page, 1);
+    }
+}
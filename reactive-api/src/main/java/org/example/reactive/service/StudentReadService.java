@@ -0,0 +1,53 @@
+package org.example.reactive.service;
+
+import org.example.reactive.exceptions.ResourceNotFoundException;
+import org.example.reactive.repository.StudentReadRepository;
+import org.example.reactive.response.CourseResponse;
+import org.example.reactive.response.StudentResponse;
+import org.example.reactive.response.StudentWithCoursesResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class StudentReadService {
+
+    private final StudentReadRepository studentReadRepository;
+    private final int pageSize;
+
+    public StudentReadService(StudentReadRepository studentReadRepository,
+                              @Value("${students.reactive.page-size:500}") int pageSize) {
+        this.studentReadRepository = studentReadRepository;
+        this.pageSize = pageSize;
+    }
+
+    public Flux<StudentResponse> streamStudents() {
+        return KeysetStream.of(after -> studentReadRepository.findStudentsAfter(after, pageSize), StudentResponse::getId, pageSize);
+    }
+
+    public Mono<StudentResponse> retrieveStudentById(long studentId) {
+        return studentReadRepository.findStudentById(studentId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(Long.toString(studentId), "student")));
+    }
+
+    public Mono<StudentWithCoursesResponse> retrieveStudentByIdWithCourses(long studentId) {
+        return retrieveStudentById(studentId)
+                .zipWith(studentReadRepository.findCoursesOfStudent(studentId).collectList(), StudentWithCoursesResponse::new);
+    }
+
+    public Flux<CourseResponse> streamCourses() {
+        return KeysetStream.of(after -> studentReadRepository.findCoursesAfter(after, pageSize), CourseResponse::getId, pageSize);
+    }
+
+    public Mono<CourseResponse> retrieveCourseById(long courseId) {
+        return studentReadRepository.findCourseById(courseId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(Long.toString(courseId), "course")));
+    }
+
+    public Flux<StudentResponse> streamCourseStudents(long courseId) {
+        return retrieveCourseById(courseId)
+                .thenMany(KeysetStream.of(after -> studentReadRepository.findCourseStudentsAfter(courseId, after, pageSize),
+                        StudentResponse::getId, pageSize));
+    }
+}
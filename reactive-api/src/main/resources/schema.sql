@@ -0,0 +1,26 @@
+create table if not exists student (
+    id bigint primary key,
+    version bigint,
+    first_name varchar(255),
+    last_name varchar(255),
+    search_first_name varchar(255),
+    search_last_name varchar(255),
+    birth_date date,
+    gsm_number varchar(255),
+    gender varchar(255)
+);
+
+create table if not exists course (
+    id bigint primary key,
+    version bigint,
+    name varchar(255) not null,
+    phase integer not null
+);
+
+create table if not exists student_courses (
+    student_id bigint not null references student (id),
+    course_id bigint not null references course (id),
+    unique (student_id, course_id)
+);
+
+create index if not exists idx_student_courses_course on student_courses (course_id, student_id);
@@ -0,0 +1,103 @@
+package org.example.reactive.controller;
+
+import org.example.reactive.response.StudentResponse;
+import org.example.reactive.service.StudentReadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "students.reactive.page-size=2")
+@AutoConfigureWebTestClient
+class StudentStreamControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private StudentReadService studentReadService;
+
+    @BeforeEach
+    void setUp() {
+        Flux.concat(
+                        databaseClient.sql("delete from student_courses").then(),
+                        databaseClient.sql("delete from student").then(),
+                        databaseClient.sql("delete from course").then(),
+                        databaseClient.sql("insert into course (id, version, name, phase) values (1, 0, 'iOS', 3)").then(),
+                        Flux.range(1, 5).concatMap(id -> databaseClient
+                                .sql("insert into student (id, version, first_name, last_name, birth_date, gender) values (:id, 0, :first, 'Peeters', '2001-05-01', 'M')")
+                                .bind("id", id)
+                                .bind("first", "Student" + id)
+                                .then()),
+                        databaseClient.sql("insert into student_courses (student_id, course_id) values (2, 1), (3, 1), (5, 1)").then())
+                .blockLast();
+    }
+
+    @WithMockUser
+    @Test
+    void streamsAllStudentsAcrossPages() {
+        webTestClient.get().uri("/private/students")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(StudentResponse.class)
+                .getResponseBody()
+                .map(StudentResponse::getId)
+                .as(StepVerifier::create)
+                .expectNext(1L, 2L, 3L, 4L, 5L)
+                .verifyComplete();
+    }
+
+    @WithMockUser
+    @Test
+    void streamsCourseStudents() {
+        webTestClient.get().uri("/private/courses/1/students")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(StudentResponse.class)
+                .getResponseBody()
+                .map(StudentResponse::getId)
+                .as(StepVerifier::create)
+                .expectNext(2L, 3L, 5L)
+                .verifyComplete();
+    }
+
+    @WithMockUser
+    @Test
+    void unknownStudentIsNotFound() {
+        webTestClient.get().uri("/private/students/99")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void requiresAuthentication() {
+        webTestClient.get().uri("/private/students")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void followsSubscriberDemand() {
+        StepVerifier.create(studentReadService.streamStudents(), 1)
+                .assertNext(student -> assertThat(student.getName()).isEqualTo("Peeters Student1"))
+                .thenRequest(2)
+                .expectNextCount(2)
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+}
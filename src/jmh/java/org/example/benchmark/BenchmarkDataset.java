@@ -0,0 +1,54 @@
+package org.example.benchmark;
+
+import org.example.repository.EnrollmentRepository;
+import org.example.seed.DataSeeder;
+import org.example.seed.SeedPlan;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class BenchmarkDataset {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_COURSES_PER_STUDENT = 4;
+
+    private final long[] studentIds;
+    private final long[] courseIds;
+
+    private BenchmarkDataset(long[] studentIds, long[] courseIds) {
+        this.studentIds = studentIds;
+        this.courseIds = courseIds;
+    }
+
+    public static BenchmarkDataset seed(ApplicationContext context, int studentCount, int courseCount) {
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        new DataSeeder(entityManager, transactionManager, context.getBean(EnrollmentRepository.class))
+                .seed(new SeedPlan(studentCount, courseCount, 0, MAX_COURSES_PER_STUDENT, 1.0, 42, BATCH_SIZE));
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long[] courseIds = toArray(transactionTemplate.execute(status ->
+                entityManager.createQuery("select c.id from Course c order by c.id", Long.class).getResultList()));
+        long[] studentIds = toArray(transactionTemplate.execute(status ->
+                entityManager.createQuery("select s.id from Student s order by s.id", Long.class).getResultList()));
+        return new BenchmarkDataset(studentIds, courseIds);
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    public long randomStudentId(SplittableRandom random) {
+        return studentIds[random.nextInt(studentIds.length)];
+    }
+
+    public long randomCourseId(SplittableRandom random) {
+        return courseIds[random.nextInt(courseIds.length)];
+    }
+}
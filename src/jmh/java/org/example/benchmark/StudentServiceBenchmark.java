@@ -0,0 +1,101 @@
+package org.example.benchmark;
+
+import org.example.StudentsApplication;
+import org.example.request.CourseRequest;
+import org.example.request.StudentRequest;
+import org.example.response.StudentResponse;
+import org.example.response.StudentWithCoursesResponse;
+import org.example.service.StudentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+@State(Scope.Benchmark)
+public class StudentServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int studentCount;
+
+    @Param({"50"})
+    public int courseCount;
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+    private BenchmarkDataset dataset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(StudentsApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        studentService = context.getBean(StudentService.class);
+        dataset = BenchmarkDataset.seed(context, studentCount, courseCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        SplittableRandom random = new SplittableRandom();
+        StudentRequest newStudent = new StudentRequest();
+        StudentRequest patch = new StudentRequest();
+        CourseRequest course = new CourseRequest();
+        PageRequest firstPage = PageRequest.of(0, 20);
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            newStudent.setFirstName("Jill");
+            newStudent.setLastName("Jackson");
+            newStudent.setBirthDate(LocalDate.of(1995, 4, 17));
+            newStudent.setGender("V");
+            newStudent.setGsmNumber("77445521");
+        }
+    }
+
+    @Benchmark
+    public Page<StudentResponse> findAllStudents(ThreadState state) {
+        return studentService.findAllStudents(state.firstPage);
+    }
+
+    @Benchmark
+    public StudentResponse retrieveStudentById(ThreadState state) {
+        return studentService.retrieveStudentById(dataset.randomStudentId(state.random));
+    }
+
+    @Benchmark
+    public StudentWithCoursesResponse retrieveStudentByIdWithCourses(ThreadState state) {
+        StudentWithCoursesResponse response = studentService.retrieveStudentByIdWithCourses(dataset.randomStudentId(state.random));
+        response.getCourses();
+        return response;
+    }
+
+    @Benchmark
+    public Long createStudent(ThreadState state) {
+        return studentService.createStudent(state.newStudent);
+    }
+
+    @Benchmark
+    public ResponseEntity<StudentResponse> patchStudent(ThreadState state) {
+        state.patch.setFirstName(state.random.nextBoolean() ? "Patched" : "Repatched");
+        return studentService.patchStudent(dataset.randomStudentId(state.random), state.patch, null);
+    }
+
+    @Benchmark
+    public void addCourseToStudent(ThreadState state) {
+        state.course.setId(dataset.randomCourseId(state.random));
+        studentService.addCourseToStudent(dataset.randomStudentId(state.random), state.course);
+    }
+}
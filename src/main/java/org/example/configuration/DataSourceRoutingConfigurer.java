@@ -0,0 +1,50 @@
+package org.example.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.datasource.ReadWriteRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Replaces the single data source with a primary and a replica pool, configured under
+ * {@code students.datasource.primary.*} and {@code students.datasource.replica.*} like {@code spring.datasource.*}.
+ * The pools are not beans of their own, so the rest of the application keeps seeing one data source.
+ */
+@Configuration
+@ConditionalOnProperty(name = "students.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfigurer {
+
+    @Bean
+    public ReadWriteRoutingDataSource dataSource(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        return new ReadWriteRoutingDataSource(
+                pool(binder, "primary", meterRegistry.getIfAvailable()),
+                pool(binder, "replica", meterRegistry.getIfAvailable()));
+    }
+
+    private static HikariDataSource pool(Binder binder, String name, MeterRegistry meterRegistry) {
+        String prefix = "students.datasource." + name;
+        DataSourceProperties properties = binder.bind(prefix, DataSourceProperties.class)
+                .orElseThrow(() -> new IllegalStateException("Missing " + prefix + ".url"));
+        try {
+            properties.afterPropertiesSet();
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid " + prefix + " settings", e);
+        }
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(prefix + ".hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        if (meterRegistry != null) {
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        return dataSource;
+    }
+}
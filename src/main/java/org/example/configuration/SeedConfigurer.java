@@ -0,0 +1,50 @@
+package org.example.configuration;
+
+import org.example.repository.EnrollmentRepository;
+import org.example.seed.DataSeeder;
+import org.example.seed.SeedPlan;
+import org.example.seed.SeedReport;
+import org.example.service.StudentCountTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Seeds synthetic data at startup, only when the {@code seed} profile is active.
+ */
+@Configuration
+@Profile("seed")
+public class SeedConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(SeedConfigurer.class);
+
+    @Bean
+    public DataSeeder dataSeeder(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                 EnrollmentRepository enrollmentRepository) {
+        return new DataSeeder(entityManager, transactionManager, enrollmentRepository);
+    }
+
+    @Bean
+    public CommandLineRunner seedAtStartup(DataSeeder dataSeeder, StudentCountTracker studentCountTracker,
+                                           @Value("${students.seed.students:1000}") int students,
+                                           @Value("${students.seed.courses:20}") int courses,
+                                           @Value("${students.seed.min-courses-per-student:1}") int minCoursesPerStudent,
+                                           @Value("${students.seed.max-courses-per-student:5}") int maxCoursesPerStudent,
+                                           @Value("${students.seed.zipf-exponent:1.0}") double zipfExponent,
+                                           @Value("${students.seed.random-seed:42}") long randomSeed,
+                                           @Value("${students.seed.batch-size:1000}") int batchSize) {
+        SeedPlan plan = new SeedPlan(students, courses, minCoursesPerStudent, maxCoursesPerStudent, zipfExponent, randomSeed, batchSize);
+        return args -> {
+            SeedReport report = dataSeeder.seed(plan);
+            studentCountTracker.refresh();
+            log.info("{}", report);
+        };
+    }
+}
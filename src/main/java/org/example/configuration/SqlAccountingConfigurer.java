@@ -0,0 +1,45 @@
+package org.example.configuration;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.example.instrumentation.EntityLoadCountingInterceptor;
+import org.example.instrumentation.SqlCountingListener;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Counts statements and rows through a JDBC proxy around the data source, and loaded entities through a
+ * Hibernate interceptor. Statements issued through JdbcTemplate are counted as well.
+ */
+@Configuration
+@ConditionalOnProperty(name = "students.sql-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlAccountingConfigurer {
+
+    @Bean
+    public static BeanPostProcessor sqlCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                SqlCountingListener listener = new SqlCountingListener();
+                return ProxyDataSourceBuilder.create(beanName, (DataSource) bean)
+                        .listener(listener)
+                        .methodListener(listener)
+                        .proxyResultSet()
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityLoadCounting() {
+        return properties -> properties.put("hibernate.session_factory.interceptor", new EntityLoadCountingInterceptor());
+    }
+}
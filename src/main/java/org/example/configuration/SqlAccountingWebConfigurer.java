@@ -0,0 +1,29 @@
+package org.example.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.instrumentation.SqlAccountingInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "students.sql-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlAccountingWebConfigurer implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final boolean debugHeaders;
+
+    public SqlAccountingWebConfigurer(ObjectProvider<MeterRegistry> meterRegistry,
+                                      @Value("${students.sql-accounting.debug-headers:false}") boolean debugHeaders) {
+        this.meterRegistry = meterRegistry;
+        this.debugHeaders = debugHeaders;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlAccountingInterceptor(meterRegistry, debugHeaders));
+    }
+}
@@ -1,7 +1,11 @@
 package org.example.configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.security.CachingAuthenticationProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,15 +14,41 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 @Configuration
 public class WebSecurityConfigurer {
+    /**
+     * The admin account, which can read the metrics endpoints, only exists when
+     * students.security.admin.password is set. There is deliberately no default.
+     */
     @Bean
-    public InMemoryUserDetailsManager userDetailsService(PasswordEncoder passwordEncoder) {
+    public InMemoryUserDetailsManager userDetailsService(PasswordEncoder passwordEncoder,
+                                                         @Value("${students.security.admin.password:}") String adminPassword) {
         UserDetails user = User.withUsername("spring")
                 .password(passwordEncoder.encode("&S&CR&T!"))
                 .roles("USER")
                 .build();
-        return new InMemoryUserDetailsManager(user);
+        InMemoryUserDetailsManager userDetailsManager = new InMemoryUserDetailsManager(user);
+        if (!adminPassword.isBlank()) {
+            userDetailsManager.createUser(User.withUsername("admin")
+                    .password(passwordEncoder.encode(adminPassword))
+                    .roles("USER", "ADMIN")
+                    .build());
+        }
+        return userDetailsManager;
+    }
+
+    @Bean
+    public CachingAuthenticationProvider authenticationProvider(InMemoryUserDetailsManager userDetailsService,
+                                                                PasswordEncoder passwordEncoder,
+                                                                MeterRegistry meterRegistry,
+                                                                @Value("${students.security.credential-cache.ttl:60s}") Duration ttl,
+                                                                @Value("${students.security.credential-cache.max-size:10000}") long maxSize) {
+        DaoAuthenticationProvider verifier = new DaoAuthenticationProvider();
+        verifier.setUserDetailsService(userDetailsService);
+        verifier.setPasswordEncoder(passwordEncoder);
+        return new CachingAuthenticationProvider(verifier, ttl, maxSize, meterRegistry);
     }
 
     @Bean
@@ -28,6 +58,10 @@ public class WebSecurityConfigurer {
                 .hasRole("USER")
                 .antMatchers("/public/**")
                 .permitAll()
+                .antMatchers("/actuator/health")
+                .permitAll()
+                .antMatchers("/actuator/**")
+                .hasRole("ADMIN")
                 .and()
                 .httpBasic();
         return http.build();
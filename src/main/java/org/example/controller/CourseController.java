@@ -0,0 +1,74 @@
+package org.example.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import org.example.request.CourseDetailsRequest;
+import org.example.response.CourseResponse;
+import org.example.response.CursorPage;
+import org.example.response.StudentResponse;
+import org.example.service.CourseService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+
+@RestController
+@RequestMapping("/private/courses")
+@CrossOrigin("*")
+public class CourseController {
+
+    private final CourseService courseService;
+
+    public CourseController(CourseService courseService) {
+        this.courseService = courseService;
+    }
+
+    @Operation(summary = "Get all courses with their enrollment counts, optionally filtered by phase")
+    @GetMapping
+    public Page<CourseResponse> findAllCourses(@RequestParam(name = "phase", required = false) Integer phase, Pageable pageable) {
+        return courseService.findAllCourses(phase, pageable);
+    }
+
+    @Operation(summary = "Get a course by its id")
+    @GetMapping("/{courseId}")
+    public CourseResponse retrieveCourseById(@PathVariable(name = "courseId") Long courseId) {
+        return courseService.retrieveCourseById(courseId);
+    }
+
+    @Operation(summary = "Get the students enrolled in a course")
+    @GetMapping("/{courseId}/students")
+    public Page<StudentResponse> findCourseStudents(@PathVariable(name = "courseId") Long courseId, Pageable pageable) {
+        return courseService.findCourseStudents(courseId, pageable);
+    }
+
+    @Operation(summary = "Get the students enrolled in a course after a cursor, without a total count")
+    @GetMapping(value = "/{courseId}/students", params = "after")
+    public CursorPage<StudentResponse> findCourseStudentsAfter(@PathVariable(name = "courseId") Long courseId,
+                                                               @RequestParam(name = "after") String after,
+                                                               @RequestParam(name = "size", defaultValue = "20") int size) {
+        return courseService.findCourseStudentsAfter(courseId, after, size);
+    }
+
+    @Operation(summary = "Create new course")
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResponseEntity<Object> createCourse(@RequestBody @Valid CourseDetailsRequest courseRequest) {
+        return courseService.createCourse(courseRequest);
+    }
+
+    @Operation(summary = "Update course's data")
+    @PutMapping("/{courseId}")
+    public CourseResponse putCourse(@PathVariable(name = "courseId") Long courseId,
+                                    @RequestBody @Valid CourseDetailsRequest courseRequest) {
+        return courseService.putCourse(courseId, courseRequest);
+    }
+
+    @Operation(summary = "Delete a specific course")
+    @DeleteMapping("/{courseId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteCourse(@PathVariable(name = "courseId") Long courseId) {
+        courseService.deleteCourse(courseId);
+    }
+}
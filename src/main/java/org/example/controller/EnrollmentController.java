@@ -0,0 +1,36 @@
+package org.example.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import org.example.request.EnrollmentBatchRequest;
+import org.example.response.EnrollmentResultResponse;
+import org.example.service.EnrollmentService;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping("/private/enrollments")
+@CrossOrigin("*")
+public class EnrollmentController {
+
+    private final EnrollmentService enrollmentService;
+
+    public EnrollmentController(EnrollmentService enrollmentService) {
+        this.enrollmentService = enrollmentService;
+    }
+
+    @Operation(summary = "Enroll many students into one course")
+    @PostMapping("/courses/{courseId}")
+    public List<EnrollmentResultResponse> enrollStudentsInCourse(@PathVariable(name = "courseId") Long courseId,
+                                                                 @RequestBody @Valid EnrollmentBatchRequest request) {
+        return enrollmentService.enrollStudentsInCourse(courseId, request.getIds());
+    }
+
+    @Operation(summary = "Enroll one student into many courses")
+    @PostMapping("/students/{studentId}")
+    public List<EnrollmentResultResponse> enrollStudentInCourses(@PathVariable(name = "studentId") Long studentId,
+                                                                 @RequestBody @Valid EnrollmentBatchRequest request) {
+        return enrollmentService.enrollStudentInCourses(studentId, request.getIds());
+    }
+}
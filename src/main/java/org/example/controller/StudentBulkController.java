@@ -0,0 +1,41 @@
+package org.example.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import org.example.response.StudentImportResponse;
+import org.example.service.StudentExportService;
+import org.example.service.StudentImportService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/private/students")
+@CrossOrigin("*")
+public class StudentBulkController {
+
+    private final StudentImportService studentImportService;
+    private final StudentExportService studentExportService;
+
+    public StudentBulkController(StudentImportService studentImportService, StudentExportService studentExportService) {
+        this.studentImportService = studentImportService;
+        this.studentExportService = studentExportService;
+    }
+
+    @Operation(summary = "Import students from a newline-delimited JSON stream")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public StudentImportResponse importStudents(InputStream body) throws IOException {
+        return studentImportService.importStudents(body);
+    }
+
+    @Operation(summary = "Export all students, optionally with their course ids, as newline-delimited JSON")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportStudents(@RequestParam(name = "withCourses", defaultValue = "false") boolean withCourses,
+                               HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        studentExportService.exportStudents(response.getOutputStream(), withCourses);
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.controller;
 
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import org.example.domain.Course;
 import org.example.domain.Gender;
@@ -9,20 +10,31 @@ import org.example.repository.CourseRepository;
 import org.example.repository.StudentRepository;
 import org.example.request.CourseRequest;
 import org.example.request.StudentRequest;
+import org.example.response.CursorPage;
+import org.example.response.StudentBatchResponse;
 import org.example.response.StudentResponse;
 import org.example.response.StudentWithCoursesResponse;
+import org.example.service.DatabaseExecutor;
+import org.example.service.ETags;
+import org.example.service.StudentSearchService;
 import org.example.service.StudentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.validation.Valid;
 import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 
 
@@ -30,76 +42,150 @@ import java.net.URI;
 @RestController
 @RequestMapping("/private/students")
 @CrossOrigin("*")
+@Timed(value = "students.http.requests", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class StudentController {
 
 
 
     private final StudentService studentService;
+    private final StudentSearchService studentSearchService;
+    private final DatabaseExecutor databaseExecutor;
 
 
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, StudentSearchService studentSearchService,
+                             DatabaseExecutor databaseExecutor) {
         this.studentService = studentService;
+        this.studentSearchService = studentSearchService;
+        this.databaseExecutor = databaseExecutor;
     }
     @Operation(summary = "Get all students")
     @GetMapping
-    public Page<StudentResponse> findAllStudents(Pageable pageable){
-        return studentService.findAllStudents(pageable);
+    public CompletableFuture<Page<StudentResponse>> findAllStudents(Pageable pageable){
+        return databaseExecutor.submit(() -> studentService.findAllStudents(pageable));
+    }
+
+    @Operation(summary = "Get a page of students without a total count")
+    @GetMapping(params = "count=none")
+    public CompletableFuture<Slice<StudentResponse>> findStudentsSlice(Pageable pageable) {
+        return databaseExecutor.submit(() -> studentService.findStudentsSlice(pageable));
+    }
+
+    @Operation(summary = "Get all students with an approximate total count")
+    @GetMapping(params = "count=approximate")
+    public CompletableFuture<Page<StudentResponse>> findAllStudentsWithApproximateTotal(Pageable pageable) {
+        return databaseExecutor.submit(() -> studentService.findAllStudentsWithApproximateTotal(pageable));
+    }
+
+    @Operation(summary = "Get students after a cursor, without a total count")
+    @GetMapping(params = "after")
+    public CompletableFuture<CursorPage<StudentResponse>> findStudentsAfter(@RequestParam(name = "after") String after,
+                                                                            @RequestParam(name = "size", defaultValue = "20") int size) {
+        return databaseExecutor.submit(() -> studentService.findStudentsAfter(after, size));
+    }
+
+    @Operation(summary = "Get several students by id in one request, reporting ids that don't exist")
+    @GetMapping("/bulk")
+    public CompletableFuture<StudentBatchResponse<? extends StudentResponse>> retrieveStudentsByIds(@RequestParam(name = "ids") List<Long> ids,
+                                                                                                   @RequestParam(name = "withCourses", defaultValue = "false") boolean withCourses) {
+        if (withCourses) {
+            return databaseExecutor.submit(() -> studentService.retrieveStudentsByIdsWithCourses(ids));
+        }
+        return databaseExecutor.submit(() -> studentService.retrieveStudentsByIds(ids));
+    }
+
+    @Operation(summary = "Search students by first or last name prefix, ignoring case and accents")
+    @GetMapping("/search")
+    public CompletableFuture<List<StudentResponse>> searchStudents(@RequestParam(name = "q") String query,
+                                                                   @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return databaseExecutor.submit(() -> studentSearchService.searchStudents(query, limit));
     }
 
     @Operation(summary = "Get a student by his/her id")
     @GetMapping("/{studentId}")
-    public StudentResponse retrieveStudentById(@PathVariable(name = "studentId") Long studentId) {
-        return studentService.retrieveStudentById(studentId);
+    public CompletableFuture<ResponseEntity<StudentResponse>> retrieveStudentById(@PathVariable(name = "studentId") Long studentId,
+                                                                                  @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return databaseExecutor.submit(() -> {
+            String etag = studentService.retrieveStudentETag(studentId);
+            if (ETags.matchesWeakly(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            StudentResponse student = studentService.retrieveStudentById(studentId);
+            return ResponseEntity.ok().eTag(ETags.ofStudent(student)).body(student);
+        });
     }
 
     @Operation(summary = "Get a student and his courses by student's id")
     @GetMapping("/{studentId}/courses")
-    public StudentWithCoursesResponse retrieveStudentByIdWithCourses(@PathVariable(name = "studentId") Long studentId) {
-        return studentService.retrieveStudentByIdWithCourses(studentId);
+    public CompletableFuture<ResponseEntity<StudentWithCoursesResponse>> retrieveStudentByIdWithCourses(@PathVariable(name = "studentId") Long studentId,
+                                                                                                        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return databaseExecutor.submit(() -> {
+            String etag = studentService.retrieveStudentWithCoursesETag(studentId);
+            if (ETags.matchesWeakly(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            StudentWithCoursesResponse student = studentService.retrieveStudentByIdWithCourses(studentId);
+            return ResponseEntity.ok().eTag(ETags.ofStudentWithCourses(student)).body(student);
+        });
     }
 
     @Operation(summary = "Create new student")
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createStudent(@RequestBody @Valid StudentRequest studentRequest) {
-        return studentService.createStudent(studentRequest);
+    public CompletableFuture<ResponseEntity<Object>> createStudent(@RequestBody @Valid StudentRequest studentRequest) {
+        UriComponentsBuilder location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}");
+        return databaseExecutor.submit(() -> studentService.createStudent(studentRequest))
+                .thenApply(id -> ResponseEntity.created(location.buildAndExpand(id).toUri()).build());
     }
 
     @Operation(summary = "Update student's data")
     @PutMapping("/{studentId}")
-    public StudentResponse putStudent(@PathVariable(name = "studentId") Long studentId,
-                                      @RequestBody @Valid StudentRequest studentRequest) {
-        return studentService.putStudent(studentId,studentRequest);
+    public CompletableFuture<ResponseEntity<StudentResponse>> putStudent(@PathVariable(name = "studentId") Long studentId,
+                                                                         @RequestBody @Valid StudentRequest studentRequest,
+                                                                         @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return databaseExecutor.submit(() -> studentService.putStudent(studentId,studentRequest,ifMatch));
     }
 
     @Operation(summary = "Update student's data")
     @PatchMapping("/{studentId}")
-    public StudentResponse patchStudent(@PathVariable("studentId") Long studentId,
-                                        @RequestBody StudentRequest studentRequest) {
-        return studentService.patchStudent(studentId,studentRequest);
+    public CompletableFuture<ResponseEntity<StudentResponse>> patchStudent(@PathVariable("studentId") Long studentId,
+                                                                           @RequestBody StudentRequest studentRequest,
+                                                                           @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return databaseExecutor.submit(() -> studentService.patchStudent(studentId,studentRequest,ifMatch));
     }
 
     @Operation(summary = "Delete a specific student")
     @DeleteMapping("/{studentId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteStudent(@PathVariable("studentId") Long studentId) {
-       studentService.deleteStudent(studentId);
+    public CompletableFuture<Void> deleteStudent(@PathVariable("studentId") Long studentId) {
+       return databaseExecutor.submit(() -> {
+           studentService.deleteStudent(studentId);
+           return null;
+       });
     }
 
     @Operation(summary = "Add a course to a student")
     @PostMapping("/{studentId}/courses")
     @ResponseStatus(HttpStatus.CREATED)
-    public void addCourseToStudent(@PathVariable(name = "studentId") Long studentId, @RequestBody @Valid CourseRequest courseRequest){
-        studentService.addCourseToStudent(studentId,courseRequest);
+    public CompletableFuture<Void> addCourseToStudent(@PathVariable(name = "studentId") Long studentId, @RequestBody @Valid CourseRequest courseRequest){
+        return databaseExecutor.submit(() -> {
+            studentService.addCourseToStudent(studentId,courseRequest);
+            return null;
+        });
     }
 
     @Operation(summary = "Remove course from student's list")
     @DeleteMapping("/{studentId}/courses/{courseId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteCourseOfStudent(@PathVariable(name = "studentId") Long studentId,
-                                     @PathVariable(name = "courseId") Long courseId) {
-        studentService.deleteCourseOfStudent(studentId,courseId);
+    public CompletableFuture<Void> deleteCourseOfStudent(@PathVariable(name = "studentId") Long studentId,
+                                                        @PathVariable(name = "courseId") Long courseId) {
+        return databaseExecutor.submit(() -> {
+            studentService.deleteCourseOfStudent(studentId,courseId);
+            return null;
+        });
     }
 
-
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public void concurrentModification() {
+    }
 }
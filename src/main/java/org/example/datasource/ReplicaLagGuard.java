@@ -0,0 +1,73 @@
+package org.example.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Remembers which students were written within the replica's maximum lag, so reads of those students go to the
+ * primary and a client always reads its own writes.
+ */
+@Component
+public class ReplicaLagGuard {
+
+    private final boolean enabled;
+    private final Cache<Long, Boolean> recentlyWritten;
+
+    public ReplicaLagGuard(@Value("${students.datasource.routing.enabled:false}") boolean enabled,
+                           @Value("${students.datasource.replica.max-lag:5s}") Duration maxLag) {
+        this.enabled = enabled;
+        this.recentlyWritten = Caffeine.newBuilder()
+                .expireAfterWrite(maxLag)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void written(Long studentId) {
+        written(List.of(studentId));
+    }
+
+    /**
+     * Starts the lag window of these students once the current transaction has committed.
+     */
+    public void written(Collection<Long> studentIds) {
+        if (!enabled || studentIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            studentIds.forEach(id -> recentlyWritten.put(id, Boolean.TRUE));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                studentIds.forEach(id -> recentlyWritten.put(id, Boolean.TRUE));
+            }
+        });
+    }
+
+    public void readingStudent(Long studentId) {
+        if (enabled && recentlyWritten.getIfPresent(studentId) != null) {
+            ReadRouting.pinToPrimary();
+        }
+    }
+
+    public void readingStudents(Collection<Long> studentIds) {
+        if (!enabled) {
+            return;
+        }
+        for (Long studentId : studentIds) {
+            if (recentlyWritten.getIfPresent(studentId) != null) {
+                ReadRouting.pinToPrimary();
+                return;
+            }
+        }
+    }
+}
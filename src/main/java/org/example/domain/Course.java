@@ -1,24 +1,38 @@
 package org.example.domain;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import java.util.ArrayList;
 import java.util.List;;
 
-@Entity public class Course {
+@Entity
+@Table(indexes = @Index(name = "idx_course_phase", columnList = "phase"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course")
+public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_seq")
+    @GenericGenerator(name = "course_seq", strategy = "org.example.domain.PooledSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "course_seq"))
     private Long id;
 
+    @Version
+    private Long version;
+
     @NotNull
     private String name;
 
     @NotNull
     private int phase;
 
-    @ManyToMany(fetch = FetchType.EAGER, mappedBy = "courses")
+    @ManyToMany(fetch = FetchType.LAZY, mappedBy = "courses")
     private List<Student> students = new ArrayList<>();
 
 
@@ -38,6 +52,10 @@ import java.util.List;;
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
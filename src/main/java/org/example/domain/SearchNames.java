@@ -0,0 +1,45 @@
+package org.example.domain;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Case- and accent-insensitive form of names, used by the search columns and the in-memory name index.
+ */
+public final class SearchNames {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+
+    private SearchNames() {
+    }
+
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * The value of a search column: the name's tokens separated by single spaces, so that every token starts either
+     * the column or a word within it.
+     */
+    public static String column(String value) {
+        if (value == null) {
+            return null;
+        }
+        return String.join(" ", tokens(value));
+    }
+
+    public static String[] tokens(String value) {
+        String normalized = normalize(value);
+        if (normalized == null) {
+            return new String[0];
+        }
+        return Arrays.stream(SEPARATORS.split(normalized)).filter(token -> !token.isEmpty()).toArray(String[]::new);
+    }
+}
@@ -2,6 +2,10 @@ package org.example.domain;
 
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 
 
@@ -12,17 +16,30 @@ import java.util.List;
 
 
 @Entity
-@Table(name = "Student")
+@Table(name = "Student", indexes = {
+        @Index(name = "idx_student_search_last_name", columnList = "searchLastName"),
+        @Index(name = "idx_student_search_first_name", columnList = "searchFirstName")})
 public class Student {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_seq")
+    @GenericGenerator(name = "student_seq", strategy = "org.example.domain.PooledSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "student_seq"))
     private Long id;
 
+    @Version
+    private Long version;
+
     private String firstName;
 
     private String lastName;
 
+    @JsonIgnore
+    private String searchFirstName;
+
+    @JsonIgnore
+    private String searchLastName;
+
     private LocalDate birthDate;
 
     private String gsmNumber;
@@ -31,10 +48,12 @@ public class Student {
     private Gender gender;
 
     @JsonIgnore
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "student_courses",
             joinColumns = {@JoinColumn(name="student_id")},
-            inverseJoinColumns = {@JoinColumn(name="course_id")})
+            inverseJoinColumns = {@JoinColumn(name="course_id")},
+            uniqueConstraints = {@UniqueConstraint(columnNames = {"student_id", "course_id"})},
+            indexes = {@Index(name = "idx_student_courses_course", columnList = "course_id, student_id")})
     private List<Course> courses = new ArrayList<>();
 
 
@@ -42,8 +61,8 @@ public class Student {
     }
 
     public Student(String firstName, String lastName, LocalDate birthDate, Gender gender) {
-        this.firstName = firstName;
-        this.lastName = lastName;
+        setFirstName(firstName);
+        setLastName(lastName);
         this.birthDate = birthDate;
         this.gender = gender;
     }
@@ -56,12 +75,17 @@ public class Student {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getFirstName() {
         return firstName;
     }
 
     public void setFirstName(String firstName) {
         this.firstName = firstName;
+        this.searchFirstName = SearchNames.column(firstName);
     }
 
     public String getLastName() {
@@ -70,6 +94,7 @@ public class Student {
 
     public void setLastName(String lastName) {
         this.lastName = lastName;
+        this.searchLastName = SearchNames.column(lastName);
     }
 
     public LocalDate getBirthDate() {
@@ -100,14 +125,20 @@ public class Student {
         return courses;
     }
 
+    // Student owns the join table; the inverse side is only kept in sync when it is already loaded,
+    // so detached or lazy courses can be linked without initializing their students.
     public void addCourse(Course course) {
         this.getCourses().add(course);
-        course.getLectors().add(this);
+        if (Hibernate.isInitialized(course.getLectors())) {
+            course.getLectors().add(this);
+        }
     }
 
     public void removeCourse(Course course) {
         this.getCourses().remove(course);
-        course.getLectors().remove(this);
+        if (Hibernate.isInitialized(course.getLectors())) {
+            course.getLectors().remove(this);
+        }
     }
 
     @Override
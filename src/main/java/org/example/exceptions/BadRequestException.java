@@ -6,5 +6,10 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ResponseStatus(HttpStatus.BAD_REQUEST)
 public class BadRequestException extends RuntimeException {
 
+    public BadRequestException() {
+    }
 
+    public BadRequestException(String message) {
+        super(message);
+    }
 }
@@ -0,0 +1,12 @@
+package org.example.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String id, String resource) {
+        super(String.format("Resource %s has been modified : %s", resource, id));
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.instrumentation;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Tags request timers with the controller method, since several handlers can share a URI and differ only by
+ * request parameters.
+ */
+public class HandlerMethodTagsContributor implements WebMvcTagsContributor {
+
+    private static final Tag NONE = Tag.of("handler", "none");
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler, Throwable exception) {
+        return Tags.of(handler(handler));
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.of(handler(handler));
+    }
+
+    private static Tag handler(Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return NONE;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        return Tag.of("handler", handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+    }
+}
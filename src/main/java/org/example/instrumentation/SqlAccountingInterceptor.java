@@ -0,0 +1,103 @@
+package org.example.instrumentation;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the SQL work of each controller call and records it per controller method. The counts live in a
+ * request attribute, so an async dispatch keeps adding to the counts of the original request.
+ * <p>
+ * With debug headers on, the counts are also written as response headers. They have to be set before the
+ * response is committed: an async dispatch writes them before its handler writes the result, when all the
+ * database work has already happened; other handlers get them after the handler returns. A synchronous handler
+ * that writes a body commits the response before that, so {@link SqlAccountingResponseAdvice} covers it.
+ */
+public class SqlAccountingInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String ROWS_HEADER = "X-SQL-Rows";
+    public static final String ENTITIES_HEADER = "X-SQL-Entities";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final boolean debugHeaders;
+
+    public SqlAccountingInterceptor(ObjectProvider<MeterRegistry> meterRegistry, boolean debugHeaders) {
+        this.meterRegistry = meterRegistry;
+        this.debugHeaders = debugHeaders;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlCounts counts = (SqlCounts) request.getAttribute(SqlStatementCounter.REQUEST_ATTRIBUTE);
+        if (counts == null) {
+            counts = SqlStatementCounter.start();
+            request.setAttribute(SqlStatementCounter.REQUEST_ATTRIBUTE, counts);
+        } else {
+            SqlStatementCounter.attach(counts);
+        }
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            writeHeadersIfEnabled(response, counts);
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            writeHeadersIfEnabled(response, (SqlCounts) request.getAttribute(SqlStatementCounter.REQUEST_ATTRIBUTE));
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementCounter.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqlStatementCounter.stop();
+        SqlCounts counts = (SqlCounts) request.getAttribute(SqlStatementCounter.REQUEST_ATTRIBUTE);
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (counts == null || registry == null || !(handler instanceof HandlerMethod)) {
+            return;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        String controller = handlerMethod.getBeanType().getSimpleName();
+        String method = handlerMethod.getMethod().getName();
+        record(registry, "sql.request.statements", "statements", controller, method, counts.getStatements());
+        record(registry, "sql.request.rows", "rows", controller, method, counts.getRows());
+        record(registry, "sql.request.entities", "entities", controller, method, counts.getEntities());
+    }
+
+    private void writeHeadersIfEnabled(HttpServletResponse response, SqlCounts counts) {
+        if (debugHeaders) {
+            writeHeaders(response, counts);
+        }
+    }
+
+    static void writeHeaders(HttpServletResponse response, SqlCounts counts) {
+        if (counts == null || response.isCommitted()) {
+            return;
+        }
+        response.setHeader(STATEMENTS_HEADER, Long.toString(counts.getStatements()));
+        response.setHeader(ROWS_HEADER, Long.toString(counts.getRows()));
+        response.setHeader(ENTITIES_HEADER, Long.toString(counts.getEntities()));
+    }
+
+    private static void record(MeterRegistry registry, String name, String unit, String controller, String method, long amount) {
+        DistributionSummary.builder(name)
+                .baseUnit(unit)
+                .tag("controller", controller)
+                .tag("method", method)
+                .register(registry)
+                .record(amount);
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.instrumentation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Writes the SQL count headers for synchronous handlers that return a body, which commit the response before
+ * {@link SqlAccountingInterceptor} gets to it. All other responses get the headers from the interceptor.
+ */
+@ControllerAdvice
+public class SqlAccountingResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final boolean enabled;
+
+    public SqlAccountingResponseAdvice(@Value("${students.sql-accounting.debug-headers:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest && response instanceof ServletServerHttpResponse) {
+            HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+            if (servletRequest.getDispatcherType() != DispatcherType.ASYNC) {
+                SqlAccountingInterceptor.writeHeaders(((ServletServerHttpResponse) response).getServletResponse(),
+                        (SqlCounts) servletRequest.getAttribute(SqlStatementCounter.REQUEST_ATTRIBUTE));
+            }
+        }
+        return body;
+    }
+}
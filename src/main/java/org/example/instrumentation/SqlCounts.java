@@ -0,0 +1,46 @@
+package org.example.instrumentation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL work done on behalf of one request. Thread-safe, so work handed to other threads can add to it.
+ */
+public class SqlCounts {
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder entities = new LongAdder();
+
+    void statementExecuted() {
+        statements.increment();
+    }
+
+    void rowFetched() {
+        rows.increment();
+    }
+
+    void entityLoaded() {
+        entities.increment();
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getEntities() {
+        return entities.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "SqlCounts{" +
+                "statements=" + getStatements() +
+                ", rows=" + getRows() +
+                ", entities=" + getEntities() +
+                '}';
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.instrumentation;
+
+import java.util.function.Supplier;
+
+/**
+ * Binds the {@link SqlCounts} of the current unit of work (usually an HTTP request) to the running thread.
+ */
+public final class SqlStatementCounter {
+
+    public static final String REQUEST_ATTRIBUTE = SqlStatementCounter.class.getName() + ".counts";
+
+    private static final ThreadLocal<SqlCounts> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static SqlCounts start() {
+        SqlCounts counts = new SqlCounts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    public static void attach(SqlCounts counts) {
+        if (counts == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(counts);
+        }
+    }
+
+    public static SqlCounts current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Wraps a task so that, on whichever thread runs it, its SQL is counted against the caller's counts.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        SqlCounts counts = CURRENT.get();
+        return () -> {
+            SqlCounts previous = CURRENT.get();
+            attach(counts);
+            try {
+                return task.get();
+            } finally {
+                attach(previous);
+            }
+        };
+    }
+
+    static void statementExecuted() {
+        SqlCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statementExecuted();
+        }
+    }
+
+    static void rowFetched() {
+        SqlCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.rowFetched();
+        }
+    }
+
+    static void entityLoaded() {
+        SqlCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entityLoaded();
+        }
+    }
+}
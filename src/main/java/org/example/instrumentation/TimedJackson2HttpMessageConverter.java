@@ -0,0 +1,44 @@
+package org.example.instrumentation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Times writing JSON response bodies, so serialization cost can be told apart from handler and database time.
+ */
+public class TimedJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public TimedJackson2HttpMessageConverter(ObjectMapper objectMapper, ObjectProvider<MeterRegistry> meterRegistry) {
+        super(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            sample.stop(Timer.builder("http.server.serialization")
+                    .description("Time spent writing JSON response bodies")
+                    .tag("type", object == null ? "none" : object.getClass().getSimpleName())
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes student_courses rows directly, so changing one enrollment never loads or rewrites
+ * the collections on either side of the association.
+ */
+@Repository
+public class EnrollmentRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public EnrollmentRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the pair unless it already exists. Two concurrent calls for the same pair can still both pass the
+     * not-exists check; the loser gets a {@link DuplicateKeyException}. It is not caught here, because on most
+     * databases the failed insert has already aborted the surrounding transaction.
+     */
+    public boolean enroll(Long studentId, Long courseId) {
+        return jdbcTemplate.update(
+                "insert into student_courses (student_id, course_id) " +
+                        "select s.id, c.id from student s, course c where s.id = :studentId and c.id = :courseId " +
+                        "and not exists (select 1 from student_courses sc where sc.student_id = s.id and sc.course_id = c.id)",
+                enrollment(studentId, courseId)) > 0;
+    }
+
+    public boolean unenroll(Long studentId, Long courseId) {
+        return jdbcTemplate.update(
+                "delete from student_courses where student_id = :studentId and course_id = :courseId",
+                enrollment(studentId, courseId)) > 0;
+    }
+
+    public void touchStudent(Long studentId) {
+        jdbcTemplate.update("update student set version = version + 1 where id = :studentId",
+                new MapSqlParameterSource("studentId", studentId));
+    }
+
+    public Set<Long> findEnrolledStudentIds(Long courseId, Collection<Long> studentIds) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "select student_id from student_courses where course_id = :courseId and student_id in (:studentIds)",
+                new MapSqlParameterSource("courseId", courseId).addValue("studentIds", studentIds), Long.class));
+    }
+
+    public Set<Long> findEnrolledCourseIds(Long studentId, Collection<Long> courseIds) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "select course_id from student_courses where student_id = :studentId and course_id in (:courseIds)",
+                new MapSqlParameterSource("studentId", studentId).addValue("courseIds", courseIds), Long.class));
+    }
+
+    public Map<Long, Long> countByCourseIds(Collection<Long> courseIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (courseIds.isEmpty()) {
+            return counts;
+        }
+        jdbcTemplate.query(
+                "select course_id, count(*) from student_courses where course_id in (:courseIds) group by course_id",
+                new MapSqlParameterSource("courseIds", courseIds),
+                rs -> {
+                    counts.put(rs.getLong(1), rs.getLong(2));
+                });
+        return counts;
+    }
+
+    public void touchStudentsOfCourse(Long courseId) {
+        jdbcTemplate.update("update student set version = version + 1"
+                        + " where id in (select student_id from student_courses where course_id = :courseId)",
+                new MapSqlParameterSource("courseId", courseId));
+    }
+
+    public void unenrollAllFromCourse(Long courseId) {
+        jdbcTemplate.update("delete from student_courses where course_id = :courseId",
+                new MapSqlParameterSource("courseId", courseId));
+    }
+
+    public void enrollAll(List<Long[]> studentCoursePairs) {
+        if (studentCoursePairs.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = studentCoursePairs.stream()
+                .map(pair -> enrollment(pair[0], pair[1]))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("insert into student_courses (student_id, course_id) values (:studentId, :courseId)", batch);
+    }
+
+    public void touchStudents(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("update student set version = version + 1 where id in (:studentIds)",
+                new MapSqlParameterSource("studentIds", studentIds));
+    }
+
+    private MapSqlParameterSource enrollment(Long studentId, Long courseId) {
+        return new MapSqlParameterSource("studentId", studentId).addValue("courseId", courseId);
+    }
+}
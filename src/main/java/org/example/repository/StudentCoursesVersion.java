@@ -0,0 +1,26 @@
+package org.example.repository;
+
+public class StudentCoursesVersion {
+
+    private final Long studentVersion;
+    private final Long courseCount;
+    private final Long courseVersionSum;
+
+    public StudentCoursesVersion(Long studentVersion, Long courseCount, Long courseVersionSum) {
+        this.studentVersion = studentVersion;
+        this.courseCount = courseCount;
+        this.courseVersionSum = courseVersionSum == null ? 0L : courseVersionSum;
+    }
+
+    public Long getStudentVersion() {
+        return studentVersion;
+    }
+
+    public Long getCourseCount() {
+        return courseCount;
+    }
+
+    public Long getCourseVersionSum() {
+        return courseVersionSum;
+    }
+}
@@ -1,11 +1,26 @@
 package org.example.repository;
 
 import org.example.domain.Student;
+import org.example.response.StudentResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
 
 
 @Repository
@@ -13,6 +28,49 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     Optional<Student> findByFirstNameAndLastName(String firstName, String lastName);
 
+    @Query("select s.version from Student s where s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select new org.example.repository.StudentCoursesVersion(s.version, count(c), sum(c.version)) " +
+            "from Student s left join s.courses c where s.id = :id group by s.id, s.version")
+    Optional<StudentCoursesVersion> findCoursesVersionById(@Param("id") Long id);
+
+    @Query("select s.id from Student s where s.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "courses")
+    Optional<Student> findWithCoursesById(Long id);
+
+    @Query(value = "select new org.example.response.StudentResponse(s.id, s.firstName, s.lastName, s.birthDate, s.gender) from Student s",
+            countQuery = "select count(s) from Student s")
+    Page<StudentResponse> findAllProjectedBy(Pageable pageable);
+
+    @Query("select new org.example.response.StudentResponse(s.id, s.firstName, s.lastName, s.birthDate, s.gender) from Student s")
+    Slice<StudentResponse> findAllSlicedBy(Pageable pageable);
+
+    @Query("select new org.example.response.StudentResponse(s.id, s.firstName, s.lastName, s.birthDate, s.gender) from Student s where s.id > :after order by s.id")
+    List<StudentResponse> findAllProjectedAfter(@Param("after") Long after, Pageable pageable);
+
+    @Query("select new org.example.response.StudentResponse(s.id, s.firstName, s.lastName, s.birthDate, s.gender) from Student s where s.id in :ids")
+    List<StudentResponse> findAllProjectedByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "courses")
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct s from Student s where s.id in :ids")
+    List<Student> findAllWithCoursesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "select new org.example.response.StudentResponse(s.id, s.firstName, s.lastName, s.birthDate, s.gender) from Student s join s.courses c where c.id = :courseId",
+            countQuery = "select count(s) from Student s join s.courses c where c.id = :courseId")
+    Page<StudentResponse> findAllProjectedByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+
+    @Query("select new org.example.response.StudentResponse(s.id, s.firstName, s.lastName, s.birthDate, s.gender) from Student s join s.courses c where c.id = :courseId and s.id > :after order by s.id")
+    List<StudentResponse> findAllProjectedByCourseIdAfter(@Param("courseId") Long courseId, @Param("after") Long after, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select s from Student s order by s.id")
+    Stream<Student> streamAllOrderedById();
 
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select s.id, c.id from Student s join s.courses c order by s.id, c.id")
+    Stream<Object[]> streamEnrollmentsOrderedByStudentId();
 }
@@ -0,0 +1,103 @@
+package org.example.repository;
+
+import org.example.domain.Gender;
+import org.example.domain.SearchNames;
+import org.example.response.StudentResponse;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Name search on the normalized search columns, and their backfill. A search column holds the name's tokens
+ * separated by single spaces, so a token prefix either starts the column or follows a space.
+ */
+@Repository
+public class StudentSearchRepository {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public StudentSearchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Finds students where every token prefix-matches a token of the first or last name, the way the in-memory
+     * name index matches them. The tokens must already be normalized.
+     */
+    public List<StudentResponse> findByNameTokens(String[] tokens, int limit) {
+        StringBuilder sql = new StringBuilder("select id, first_name, last_name, birth_date, gender from student where 1 = 1");
+        MapSqlParameterSource parameters = new MapSqlParameterSource("limit", limit);
+        for (int i = 0; i < tokens.length; i++) {
+            String prefix = "prefix" + i;
+            String word = "word" + i;
+            sql.append(" and (search_last_name like :").append(prefix).append(" escape '\\'")
+                    .append(" or search_last_name like :").append(word).append(" escape '\\'")
+                    .append(" or search_first_name like :").append(prefix).append(" escape '\\'")
+                    .append(" or search_first_name like :").append(word).append(" escape '\\')");
+            parameters.addValue(prefix, escapeLike(tokens[i]) + "%");
+            parameters.addValue(word, "% " + escapeLike(tokens[i]) + "%");
+        }
+        sql.append(" order by search_last_name, search_first_name, id limit :limit");
+        return jdbcTemplate.query(sql.toString(), parameters, (rs, rowNum) -> new StudentResponse(
+                rs.getLong("id"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getObject("birth_date", LocalDate.class),
+                Gender.valueOf(rs.getString("gender"))));
+    }
+
+    /**
+     * Fills in the search columns of rows written before they existed, and rewrites any that are not in their
+     * current form. Walks the table in id order, a batch at a time. A row renamed since it was read is left alone,
+     * because the rename already wrote its search columns.
+     *
+     * @return the number of rows that were out of date
+     */
+    public int backfillSearchNames() {
+        int updated = 0;
+        long after = Long.MIN_VALUE;
+        while (true) {
+            List<SqlParameterSource> batch = new ArrayList<>();
+            List<Long> ids = new ArrayList<>();
+            jdbcTemplate.query(
+                    "select id, first_name, last_name, search_first_name, search_last_name from student " +
+                            "where id > :after order by id limit :limit",
+                    new MapSqlParameterSource("after", after).addValue("limit", BACKFILL_BATCH_SIZE),
+                    rs -> {
+                        ids.add(rs.getLong("id"));
+                        String searchFirstName = SearchNames.column(rs.getString("first_name"));
+                        String searchLastName = SearchNames.column(rs.getString("last_name"));
+                        if (!Objects.equals(searchFirstName, rs.getString("search_first_name"))
+                                || !Objects.equals(searchLastName, rs.getString("search_last_name"))) {
+                            batch.add(new MapSqlParameterSource("id", rs.getLong("id"))
+                                    .addValue("firstName", rs.getString("first_name"))
+                                    .addValue("lastName", rs.getString("last_name"))
+                                    .addValue("searchFirstName", searchFirstName)
+                                    .addValue("searchLastName", searchLastName));
+                        }
+                    });
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate("update student set search_first_name = :searchFirstName, " +
+                        "search_last_name = :searchLastName " +
+                        "where id = :id and first_name = :firstName and last_name = :lastName", batch.toArray(SqlParameterSource[]::new));
+                updated += batch.size();
+            }
+            if (ids.size() < BACKFILL_BATCH_SIZE) {
+                return updated;
+            }
+            after = ids.get(ids.size() - 1);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
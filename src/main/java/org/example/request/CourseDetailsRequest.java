@@ -0,0 +1,32 @@
+package org.example.request;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+public class CourseDetailsRequest {
+
+    @NotNull
+    @NotEmpty
+    private String name;
+
+    @NotNull
+    @Min(1)
+    private Integer phase;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getPhase() {
+        return phase;
+    }
+
+    public void setPhase(Integer phase) {
+        this.phase = phase;
+    }
+}
@@ -1,11 +1,15 @@
 package org.example.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.example.domain.Course;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CourseResponse {
 
     private Long id;
     private String name;
     private int phase;
+    private Long enrollmentCount;
 
     public CourseResponse(Course course){
         this.id = course.getId();
@@ -13,6 +17,11 @@ public class CourseResponse {
         this.phase = course.getPhase();
     }
 
+    public CourseResponse(Course course, long enrollmentCount) {
+        this(course);
+        this.enrollmentCount = enrollmentCount;
+    }
+
     public Long getId() {
         return id;
     }
@@ -24,4 +33,8 @@ public class CourseResponse {
     public int getPhase() {
         return phase;
     }
+
+    public Long getEnrollmentCount() {
+        return enrollmentCount;
+    }
 }
@@ -0,0 +1,26 @@
+package org.example.response;
+
+public class EnrollmentResultResponse {
+
+    private Long studentId;
+    private Long courseId;
+    private EnrollmentStatus status;
+
+    public EnrollmentResultResponse(Long studentId, Long courseId, EnrollmentStatus status) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.status = status;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public EnrollmentStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,5 @@
+package org.example.response;
+
+public enum EnrollmentStatus {
+    ENROLLED, ALREADY_ENROLLED, STUDENT_NOT_FOUND, COURSE_NOT_FOUND
+}
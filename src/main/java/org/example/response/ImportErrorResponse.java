@@ -0,0 +1,20 @@
+package org.example.response;
+
+public class ImportErrorResponse {
+
+    private long line;
+    private String message;
+
+    public ImportErrorResponse(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.response;
+
+import java.util.List;
+
+public class StudentBatchResponse<T extends StudentResponse> {
+
+    private List<T> students;
+    private List<Long> missingIds;
+
+    public StudentBatchResponse(List<T> students, List<Long> missingIds) {
+        this.students = students;
+        this.missingIds = missingIds;
+    }
+
+    public List<T> getStudents() {
+        return students;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.example.domain.Student;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentExportResponse {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private LocalDate birthDate;
+    private String gender;
+    private String gsmNumber;
+    private List<Long> courseIds;
+
+    public StudentExportResponse(Student student, List<Long> courseIds) {
+        this.id = student.getId();
+        this.firstName = student.getFirstName();
+        this.lastName = student.getLastName();
+        this.birthDate = student.getBirthDate();
+        this.gender = student.getGender().name();
+        this.gsmNumber = student.getGsmNumber();
+        this.courseIds = courseIds;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public LocalDate getBirthDate() {
+        return birthDate;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public String getGsmNumber() {
+        return gsmNumber;
+    }
+
+    public List<Long> getCourseIds() {
+        return courseIds;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.response;
+
+import java.util.List;
+
+public class StudentImportResponse {
+
+    private long imported;
+    private long failed;
+    private long failedBatches;
+    private List<ImportErrorResponse> errors;
+
+    public StudentImportResponse(long imported, long failed, long failedBatches, List<ImportErrorResponse> errors) {
+        this.imported = imported;
+        this.failed = failed;
+        this.failedBatches = failedBatches;
+        this.errors = errors;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getFailedBatches() {
+        return failedBatches;
+    }
+
+    public List<ImportErrorResponse> getErrors() {
+        return errors;
+    }
+}
@@ -1,6 +1,8 @@
 package org.example.response;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.example.domain.Gender;
 import org.example.domain.Student;
 import java.time.LocalDate;
 
@@ -10,14 +12,24 @@ public class StudentResponse {
     private String name;
     private LocalDate birthDate;
     private String gender;
+    @JsonIgnore
+    private Long version;
 
     public StudentResponse(Student student) {
         this.id = student.getId();
+        this.version = student.getVersion();
         this.name = student.getLastName() + " " + student.getFirstName();
         this.birthDate = student.getBirthDate();
         this.gender = student.getGender().name();
     }
 
+    public StudentResponse(Long id, String firstName, String lastName, LocalDate birthDate, Gender gender) {
+        this.id = id;
+        this.name = lastName + " " + firstName;
+        this.birthDate = birthDate;
+        this.gender = gender.name();
+    }
+
     public Long getId() {
         return id;
     }
@@ -34,4 +46,12 @@ public class StudentResponse {
         return gender;
     }
 
+    /**
+     * The student version this response was built from, or null for responses built from a projection.
+     */
+    @JsonIgnore
+    public Long getVersion() {
+        return version;
+    }
+
 }
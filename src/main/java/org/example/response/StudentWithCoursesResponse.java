@@ -1,22 +1,34 @@
 package org.example.response;
 
 
-import org.example.domain.Student;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.example.domain.Course;
+import org.example.domain.Student;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class StudentWithCoursesResponse extends StudentResponse {
 
-    private List<Course> courses;
+    private List<CourseResponse> courses;
+    @JsonIgnore
+    private long courseVersionSum;
 
     public StudentWithCoursesResponse(Student student) {
         super(student);
-        this.courses = student.getCourses();
+        this.courses = student.getCourses().stream().map(CourseResponse::new).collect(Collectors.toList());
+        this.courseVersionSum = student.getCourses().stream().mapToLong(Course::getVersion).sum();
     }
 
     public List<CourseResponse> getCourses() {
-        return courses.stream().map(CourseResponse::new).collect(Collectors.toList());
+        return courses;
+    }
+
+    /**
+     * The sum of the versions of the courses this response was built from.
+     */
+    @JsonIgnore
+    public long getCourseVersionSum() {
+        return courseVersionSum;
     }
 }
@@ -0,0 +1,102 @@
+package org.example.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers successful username/password authentications for a short time so repeated HTTP Basic requests
+ * don't pay for a BCrypt verification each time. Entries are keyed by an HMAC of the presented credentials
+ * under a random per-process key; the password itself is never stored. Failed attempts are not cached.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+    private final Cache<String, Authentication> authentications;
+    private final SecretKeySpec key;
+    private final Timer verifications;
+    private final Counter hits;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, Duration ttl, long maxSize, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.authentications = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.verifications = Timer.builder("security.authentication.verification")
+                .description("Time spent verifying credentials with the password encoder")
+                .register(meterRegistry);
+        this.hits = Counter.builder("security.authentication.cache.hits")
+                .description("Authentications answered from the credential cache")
+                .register(meterRegistry);
+        Gauge.builder("security.authentication.time.saved", this, provider -> provider.estimatedSavedSeconds())
+                .description("Estimated verification time saved by the credential cache")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (authentication.getCredentials() == null) {
+            return delegate.authenticate(authentication);
+        }
+        String cacheKey = digest(authentication.getName(), authentication.getCredentials().toString());
+        Authentication cached = authentications.getIfPresent(cacheKey);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        long start = System.nanoTime();
+        try {
+            Authentication result = delegate.authenticate(authentication);
+            if (result != null && result.isAuthenticated()) {
+                authentications.put(cacheKey, result);
+            }
+            return result;
+        } finally {
+            verifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    private double estimatedSavedSeconds() {
+        return hits.count() * verifications.mean(TimeUnit.SECONDS);
+    }
+
+    private String digest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.seed;
+
+import org.example.domain.Course;
+import org.example.domain.Student;
+import org.example.repository.EnrollmentRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Loads synthetic data in batches: students and courses through JPA, flushed and cleared per batch so Hibernate
+ * can group the inserts, and enrollments as JDBC batch inserts. Course popularity follows a Zipf distribution,
+ * so a few courses get most of the enrollments.
+ */
+public class DataSeeder {
+
+    private static final int MAX_DRAWS_PER_ENROLLMENT = 20;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final EnrollmentRepository enrollmentRepository;
+
+    public DataSeeder(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                      EnrollmentRepository enrollmentRepository) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
+    public SeedReport seed(SeedPlan plan) {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(plan.getRandomSeed());
+        SyntheticData data = new SyntheticData(random);
+
+        List<Long> courseIds = new ArrayList<>(plan.getCourses());
+        for (int offset = 0; offset < plan.getCourses(); offset += plan.getBatchSize()) {
+            int batchStart = offset;
+            int batchEnd = Math.min(plan.getCourses(), offset + plan.getBatchSize());
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = batchStart; i < batchEnd; i++) {
+                    Course course = data.course(i);
+                    entityManager.persist(course);
+                    courseIds.add(course.getId());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        ZipfSampler popularity = courseIds.isEmpty() ? null : new ZipfSampler(courseIds.size(), plan.getZipfExponent());
+        long enrollments = 0;
+        for (int offset = 0; offset < plan.getStudents(); offset += plan.getBatchSize()) {
+            int batchSize = Math.min(plan.getStudents() - offset, plan.getBatchSize());
+            enrollments += transactionTemplate.execute(status -> {
+                List<Long[]> pairs = new ArrayList<>();
+                for (int i = 0; i < batchSize; i++) {
+                    Student student = data.student();
+                    entityManager.persist(student);
+                    if (popularity != null) {
+                        enroll(student.getId(), plan, popularity, courseIds, random, pairs);
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+                enrollmentRepository.enrollAll(pairs);
+                return (long) pairs.size();
+            });
+        }
+        return new SeedReport(plan.getStudents(), plan.getCourses(), enrollments, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static void enroll(Long studentId, SeedPlan plan, ZipfSampler popularity, List<Long> courseIds,
+                               SplittableRandom random, List<Long[]> pairs) {
+        int wanted = Math.min(courseIds.size(),
+                plan.getMinCoursesPerStudent() + random.nextInt(plan.getMaxCoursesPerStudent() - plan.getMinCoursesPerStudent() + 1));
+        List<Long> chosen = new ArrayList<>(wanted);
+        for (int draw = 0; chosen.size() < wanted && draw < wanted * MAX_DRAWS_PER_ENROLLMENT; draw++) {
+            Long courseId = courseIds.get(popularity.sample(random));
+            if (!chosen.contains(courseId)) {
+                chosen.add(courseId);
+                pairs.add(new Long[]{studentId, courseId});
+            }
+        }
+    }
+}
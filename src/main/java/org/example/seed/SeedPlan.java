@@ -0,0 +1,54 @@
+package org.example.seed;
+
+public class SeedPlan {
+
+    private final int students;
+    private final int courses;
+    private final int minCoursesPerStudent;
+    private final int maxCoursesPerStudent;
+    private final double zipfExponent;
+    private final long randomSeed;
+    private final int batchSize;
+
+    public SeedPlan(int students, int courses, int minCoursesPerStudent, int maxCoursesPerStudent,
+                    double zipfExponent, long randomSeed, int batchSize) {
+        if (minCoursesPerStudent > maxCoursesPerStudent) {
+            throw new IllegalArgumentException("min-courses-per-student exceeds max-courses-per-student");
+        }
+        this.students = students;
+        this.courses = courses;
+        this.minCoursesPerStudent = minCoursesPerStudent;
+        this.maxCoursesPerStudent = maxCoursesPerStudent;
+        this.zipfExponent = zipfExponent;
+        this.randomSeed = randomSeed;
+        this.batchSize = batchSize;
+    }
+
+    public int getStudents() {
+        return students;
+    }
+
+    public int getCourses() {
+        return courses;
+    }
+
+    public int getMinCoursesPerStudent() {
+        return minCoursesPerStudent;
+    }
+
+    public int getMaxCoursesPerStudent() {
+        return maxCoursesPerStudent;
+    }
+
+    public double getZipfExponent() {
+        return zipfExponent;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.seed;
+
+import java.time.Duration;
+
+public class SeedReport {
+
+    private final long students;
+    private final long courses;
+    private final long enrollments;
+    private final Duration elapsed;
+
+    public SeedReport(long students, long courses, long enrollments, Duration elapsed) {
+        this.students = students;
+        this.courses = courses;
+        this.enrollments = enrollments;
+        this.elapsed = elapsed;
+    }
+
+    public long getStudents() {
+        return students;
+    }
+
+    public long getCourses() {
+        return courses;
+    }
+
+    public long getEnrollments() {
+        return enrollments;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public long getRows() {
+        return students + courses + enrollments;
+    }
+
+    public double getRowsPerSecond() {
+        double seconds = elapsed.toNanos() / 1e9;
+        return seconds == 0 ? getRows() : getRows() / seconds;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Seeded %d students, %d courses and %d enrollments in %d ms (%.0f rows/s)",
+                students, courses, enrollments, elapsed.toMillis(), getRowsPerSecond());
+    }
+}
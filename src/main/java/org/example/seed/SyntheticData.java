@@ -0,0 +1,51 @@
+package org.example.seed;
+
+import org.example.domain.Course;
+import org.example.domain.Gender;
+import org.example.domain.Student;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Generates plausible students and courses from a seeded random source, so runs are repeatable.
+ */
+public class SyntheticData {
+
+    private static final String[] FIRST_NAMES = {
+            "John", "Mark", "Mei", "Jill", "Anna", "Bert", "Carl", "Dirk", "Emma", "Fien", "Lars", "Noor",
+            "Sofie", "Thomas", "Yusuf", "Zoë", "Amélie", "Jörg", "Inès", "Chloé", "Lucas", "Fatima", "Wout", "Sara"};
+    private static final String[] LAST_NAMES = {
+            "Johnson", "Michaelson", "Cheng", "Jackson", "Peeters", "Janssens", "Maes", "Jacobs", "Mertens",
+            "Willems", "Claes", "Goossens", "Wouters", "De Smet", "Dubois", "Lambert", "Müller", "Jöhannsen",
+            "García", "Nguyen", "El Amrani", "Van den Broeck", "Öztürk", "Dupont"};
+    private static final String[] SUBJECTS = {
+            "Backend Programming", "iOS", "Android", "Ethical Hacking", "Database concepts", "Analyse and design",
+            "Networks", "Operating Systems", "Web Frontend", "Data Science", "Cloud Infrastructure", "Algorithms"};
+    private static final LocalDate OLDEST_BIRTH_DATE = LocalDate.of(1990, 1, 1);
+    private static final int BIRTH_DATE_RANGE_DAYS = 16 * 365;
+
+    private final SplittableRandom random;
+
+    public SyntheticData(SplittableRandom random) {
+        this.random = random;
+    }
+
+    public Course course(int index) {
+        String name = SUBJECTS[index % SUBJECTS.length];
+        if (index >= SUBJECTS.length) {
+            name += " " + (index / SUBJECTS.length + 1);
+        }
+        return new Course(name, 1 + random.nextInt(3));
+    }
+
+    public Student student() {
+        Student student = new Student(
+                FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                OLDEST_BIRTH_DATE.plusDays(random.nextInt(BIRTH_DATE_RANGE_DAYS)),
+                random.nextBoolean() ? Gender.M : Gender.V);
+        student.setGsmNumber(String.format("04%08d", random.nextInt(100_000_000)));
+        return student;
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.service;
+
+import org.example.domain.Course;
+import org.example.exceptions.ResourceNotFoundException;
+import org.example.repository.CourseRepository;
+import org.example.repository.EnrollmentRepository;
+import org.example.repository.StudentRepository;
+import org.example.request.CourseDetailsRequest;
+import org.example.response.CourseResponse;
+import org.example.response.CursorPage;
+import org.example.response.StudentResponse;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class CourseService {
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudentRepository studentRepository;
+
+    public CourseService(CourseRepository courseRepository, EnrollmentRepository enrollmentRepository, StudentRepository studentRepository) {
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.studentRepository = studentRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<CourseResponse> findAllCourses(Integer phase, Pageable pageable) {
+        Page<Course> courses = phase == null ? courseRepository.findAll(pageable) : courseRepository.findByPhase(phase, pageable);
+        List<Long> ids = courses.getContent().stream().map(Course::getId).collect(Collectors.toList());
+        Map<Long, Long> counts = enrollmentRepository.countByCourseIds(ids);
+        return courses.map(course -> new CourseResponse(course, counts.getOrDefault(course.getId(), 0L)));
+    }
+
+    @Transactional(readOnly = true)
+    public CourseResponse retrieveCourseById(Long courseId) {
+        Course course = findCourse(courseId);
+        long count = enrollmentRepository.countByCourseIds(List.of(courseId)).getOrDefault(courseId, 0L);
+        return new CourseResponse(course, count);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<StudentResponse> findCourseStudents(Long courseId, Pageable pageable) {
+        findCourse(courseId);
+        return studentRepository.findAllProjectedByCourseId(courseId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<StudentResponse> findCourseStudentsAfter(Long courseId, String after, int size) {
+        findCourse(courseId);
+        int pageSize = IdCursor.clampSize(size);
+        List<StudentResponse> students = studentRepository.findAllProjectedByCourseIdAfter(courseId, IdCursor.decode(after), PageRequest.of(0, pageSize + 1));
+        return IdCursor.page(students, pageSize, StudentResponse::getId);
+    }
+
+    public ResponseEntity<Object> createCourse(CourseDetailsRequest courseRequest) {
+        Course course = courseRepository.save(new Course(courseRequest.getName(), courseRequest.getPhase()));
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(course.getId())
+                .toUri();
+
+        return ResponseEntity.created(location).build();
+    }
+
+    @CacheEvict(cacheNames = StudentService.STUDENT_WITH_COURSES_CACHE, allEntries = true)
+    public CourseResponse putCourse(Long courseId, CourseDetailsRequest courseRequest) {
+        Course course = findCourse(courseId);
+        course.setName(courseRequest.getName());
+        course.setPhase(courseRequest.getPhase());
+        long count = enrollmentRepository.countByCourseIds(List.of(courseId)).getOrDefault(courseId, 0L);
+        return new CourseResponse(courseRepository.save(course), count);
+    }
+
+    @CacheEvict(cacheNames = StudentService.STUDENT_WITH_COURSES_CACHE, allEntries = true)
+    public void deleteCourse(Long courseId) {
+        Course course = findCourse(courseId);
+        // The enrolled students lose a course, so their /courses ETags must change too.
+        enrollmentRepository.touchStudentsOfCourse(courseId);
+        enrollmentRepository.unenrollAllFromCourse(courseId);
+        courseRepository.delete(course);
+    }
+
+    private Course findCourse(Long courseId) {
+        return courseRepository.findById(courseId).orElseThrow(() -> new ResourceNotFoundException(courseId.toString(), "course"));
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.exceptions.ServiceUnavailableException;
+import org.example.instrumentation.SqlStatementCounter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking database work off the servlet threads. At most {@code concurrency} tasks run at once, which
+ * should not exceed the connection pool size, and at most {@code queue-capacity} more wait for a slot. Anything
+ * beyond that is shed with a 503 instead of tying up a request thread. Uses virtual threads when the JVM has them.
+ */
+@Component
+public class DatabaseExecutor implements DisposableBean {
+
+    private final boolean enabled;
+    private final ExecutorService executor;
+    private final Semaphore admitted;
+    private final Semaphore running;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Timer queueTime;
+    private final Counter rejected;
+
+    public DatabaseExecutor(@Value("${students.db-executor.enabled:true}") boolean enabled,
+                            @Value("${students.db-executor.concurrency:10}") int concurrency,
+                            @Value("${students.db-executor.queue-capacity:100}") int queueCapacity,
+                            @Value("${students.db-executor.virtual-threads:true}") boolean virtualThreads,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = enabled;
+        this.admitted = new Semaphore(concurrency + queueCapacity);
+        this.running = new Semaphore(concurrency);
+        ExecutorService virtual = virtualThreads ? virtualThreadExecutor() : null;
+        this.executor = !enabled ? null : virtual != null ? virtual : Executors.newFixedThreadPool(concurrency, namedThreads());
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            this.queueTime = Timer.builder("students.db.executor.queue")
+                    .description("Time tasks wait for a database executor slot")
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.rejected = Counter.builder("students.db.executor.rejected")
+                    .description("Tasks shed because the database executor queue was full")
+                    .register(registry);
+            Gauge.builder("students.db.executor.queued", queued, AtomicInteger::get).register(registry);
+            Gauge.builder("students.db.executor.active", running, permits -> concurrency - permits.availablePermits()).register(registry);
+        } else {
+            this.queueTime = null;
+            this.rejected = null;
+        }
+    }
+
+    /**
+     * Submits a task, carrying over the caller's security context and SQL counts.
+     *
+     * @throws ServiceUnavailableException when the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        Supplier<T> propagated = withSecurityContext(SqlStatementCounter.propagate(task));
+        if (!enabled) {
+            try {
+                return CompletableFuture.completedFuture(propagated.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        if (!admitted.tryAcquire()) {
+            shed();
+        }
+        long enqueued = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                running.acquireUninterruptibly();
+                queued.decrementAndGet();
+                if (queueTime != null) {
+                    queueTime.record(System.nanoTime() - enqueued, TimeUnit.NANOSECONDS);
+                }
+                try {
+                    return propagated.get();
+                } finally {
+                    running.release();
+                    admitted.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            admitted.release();
+            throw new ServiceUnavailableException("Database executor is shutting down");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private void shed() {
+        if (rejected != null) {
+            rejected.increment();
+        }
+        throw new ServiceUnavailableException("Too many requests waiting for the database");
+    }
+
+    private static <T> Supplier<T> withSecurityContext(Supplier<T> task) {
+        SecurityContext context = SecurityContextHolder.getContext();
+        return () -> {
+            SecurityContext previous = SecurityContextHolder.getContext();
+            SecurityContextHolder.setContext(context);
+            try {
+                return task.get();
+            } finally {
+                SecurityContextHolder.setContext(previous);
+            }
+        };
+    }
+
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicLong sequence = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "db-executor-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.service;
+
+import org.example.response.StudentResponse;
+import org.example.response.StudentWithCoursesResponse;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Builds strong entity tags from version numbers and matches them against If-Match / If-None-Match headers.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Object... parts) {
+        return Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    /**
+     * The tag of a student body, taken from the version the body was built from, so that a cached body never gets
+     * the tag of a newer version.
+     */
+    public static String ofStudent(StudentResponse student) {
+        return of(student.getVersion());
+    }
+
+    /**
+     * The tag of a student-with-courses body; it has the same form as the tag read from the database.
+     */
+    public static String ofStudentWithCourses(StudentWithCoursesResponse student) {
+        return of(student.getVersion(), student.getCourses().size(), student.getCourseVersionSum());
+    }
+
+    /**
+     * Weak comparison for If-None-Match: {@code W/"x"} matches {@code "x"}.
+     */
+    public static boolean matchesWeakly(String header, String etag) {
+        return matches(header, etag, true);
+    }
+
+    /**
+     * Strong comparison for If-Match (RFC 7232 section 3.1): weak tags never match.
+     */
+    public static boolean matchesStrongly(String header, String etag) {
+        return matches(header, etag, false);
+    }
+
+    private static boolean matches(String header, String etag, boolean weak) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || (weak && tag.equals("W/" + etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.service;
+
+import org.example.datasource.ReplicaLagGuard;
+import org.example.exceptions.ResourceNotFoundException;
+import org.example.repository.CourseRepository;
+import org.example.repository.EnrollmentRepository;
+import org.example.repository.StudentRepository;
+import org.example.response.EnrollmentResultResponse;
+import org.example.response.EnrollmentStatus;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+@Service
+public class EnrollmentService {
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final TransactionTemplate transactionTemplate;
+
+    public EnrollmentService(StudentRepository studentRepository, CourseRepository courseRepository,
+                             EnrollmentRepository enrollmentRepository, ReplicaLagGuard replicaLagGuard,
+                             PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.replicaLagGuard = replicaLagGuard;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // A whole roster can change, and a cache can only evict one key per call, so both caches are cleared.
+    @Caching(evict = {
+            @CacheEvict(cacheNames = StudentService.STUDENT_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = StudentService.STUDENT_WITH_COURSES_CACHE, allEntries = true)})
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<EnrollmentResultResponse> enrollStudentsInCourse(Long courseId, List<Long> studentIds) {
+        return retryingLostRace(() -> enrollStudentsInCourseOnce(courseId, studentIds));
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = StudentService.STUDENT_CACHE, key = "#studentId"),
+            @CacheEvict(cacheNames = StudentService.STUDENT_WITH_COURSES_CACHE, key = "#studentId")})
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<EnrollmentResultResponse> enrollStudentInCourses(Long studentId, List<Long> courseIds) {
+        return retryingLostRace(() -> enrollStudentInCoursesOnce(studentId, courseIds));
+    }
+
+    /**
+     * A concurrent request can insert one of the pairs between reading the existing enrollments and the batch
+     * insert. The whole transaction is then rolled back and run once more, which reads that row and reports the
+     * pair as already enrolled instead of failing the batch.
+     */
+    private List<EnrollmentResultResponse> retryingLostRace(Supplier<List<EnrollmentResultResponse>> enrollment) {
+        try {
+            return transactionTemplate.execute(status -> enrollment.get());
+        } catch (DuplicateKeyException e) {
+            return transactionTemplate.execute(status -> enrollment.get());
+        }
+    }
+
+    private List<EnrollmentResultResponse> enrollStudentsInCourseOnce(Long courseId, List<Long> studentIds) {
+        if (courseRepository.findById(courseId).isEmpty()) {
+            throw new ResourceNotFoundException(courseId.toString(), "course");
+        }
+        Set<Long> requested = new LinkedHashSet<>(studentIds);
+        Set<Long> existing = new HashSet<>(studentRepository.findExistingIds(requested));
+        Set<Long> enrolled = enrollmentRepository.findEnrolledStudentIds(courseId, requested);
+
+        List<EnrollmentResultResponse> results = new ArrayList<>(studentIds.size());
+        List<Long[]> inserts = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            EnrollmentStatus status;
+            if (!existing.contains(studentId)) {
+                status = EnrollmentStatus.STUDENT_NOT_FOUND;
+            } else if (!enrolled.add(studentId)) {
+                status = EnrollmentStatus.ALREADY_ENROLLED;
+            } else {
+                status = EnrollmentStatus.ENROLLED;
+                inserts.add(new Long[]{studentId, courseId});
+            }
+            results.add(new EnrollmentResultResponse(studentId, courseId, status));
+        }
+        apply(inserts);
+        return results;
+    }
+
+    private List<EnrollmentResultResponse> enrollStudentInCoursesOnce(Long studentId, List<Long> courseIds) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException(studentId.toString(), "student");
+        }
+        Set<Long> requested = new LinkedHashSet<>(courseIds);
+        Set<Long> existing = new HashSet<>(courseRepository.findExistingIds(requested));
+        Set<Long> enrolled = enrollmentRepository.findEnrolledCourseIds(studentId, requested);
+
+        List<EnrollmentResultResponse> results = new ArrayList<>(courseIds.size());
+        List<Long[]> inserts = new ArrayList<>();
+        for (Long courseId : courseIds) {
+            EnrollmentStatus status;
+            if (!existing.contains(courseId)) {
+                status = EnrollmentStatus.COURSE_NOT_FOUND;
+            } else if (!enrolled.add(courseId)) {
+                status = EnrollmentStatus.ALREADY_ENROLLED;
+            } else {
+                status = EnrollmentStatus.ENROLLED;
+                inserts.add(new Long[]{studentId, courseId});
+            }
+            results.add(new EnrollmentResultResponse(studentId, courseId, status));
+        }
+        apply(inserts);
+        return results;
+    }
+
+    private void apply(List<Long[]> inserts) {
+        enrollmentRepository.enrollAll(inserts);
+        Set<Long> touchedStudents = new LinkedHashSet<>();
+        inserts.forEach(pair -> touchedStudents.add(pair[0]));
+        enrollmentRepository.touchStudents(touchedStudents);
+        replicaLagGuard.written(touchedStudents);
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.service;
+
+import org.example.exceptions.BadRequestException;
+import org.example.response.CursorPage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque cursor for keyset paging on an entity id. An empty cursor starts at the beginning.
+ */
+public final class IdCursor {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private IdCursor() {
+    }
+
+    public static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Turns rows fetched with a limit of {@code pageSize + 1} into a page, the extra row only signalling that more follow.
+     */
+    public static <T> CursorPage<T> page(List<T> rows, int pageSize, Function<T, Long> id) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, pageSize);
+        return new CursorPage<>(content, encode(id.apply(content.get(pageSize - 1))));
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.service;
+
+import org.example.repository.StudentSearchRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Brings the search columns of existing students up to date on a background thread once the application is ready.
+ * Rows written before the columns existed have none, so until it finishes the database fallback of the name search
+ * does not find them. After the first run it only reads.
+ */
+@Component
+public class SearchNamesBackfill {
+
+    private final StudentSearchRepository studentSearchRepository;
+    private final boolean enabled;
+
+    public SearchNamesBackfill(StudentSearchRepository studentSearchRepository,
+                               @Value("${students.search.backfill-on-startup:true}") boolean enabled) {
+        this.studentSearchRepository = studentSearchRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(studentSearchRepository::backfillSearchNames, "search-names-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
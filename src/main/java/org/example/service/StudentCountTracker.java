@@ -0,0 +1,62 @@
+package org.example.service;
+
+import org.example.repository.StudentRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps an approximate number of students so list requests don't need a COUNT(*) each time.
+ * The value follows inserts and deletes made through the service, applied once their transaction commits,
+ * and is re-counted periodically.
+ */
+@Component
+public class StudentCountTracker {
+
+    private static final long UNKNOWN = -1;
+
+    private final StudentRepository studentRepository;
+    private final AtomicLong total = new AtomicLong(UNKNOWN);
+
+    public StudentCountTracker(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    public long approximateTotal() {
+        long current = total.get();
+        if (current == UNKNOWN) {
+            refresh();
+            current = total.get();
+        }
+        return current;
+    }
+
+    public void added(long count) {
+        afterCommit(() -> total.getAndUpdate(current -> current == UNKNOWN ? UNKNOWN : current + count));
+    }
+
+    public void removed(long count) {
+        afterCommit(() -> total.getAndUpdate(current -> current == UNKNOWN ? UNKNOWN : Math.max(0, current - count)));
+    }
+
+    @Scheduled(fixedDelayString = "${students.count.refresh-interval:60000}")
+    public void refresh() {
+        total.set(studentRepository.count());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.domain.Student;
+import org.example.repository.StudentRepository;
+import org.example.response.StudentExportResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes every student as one NDJSON line. Students and enrollments are read as two cursors ordered by
+ * student id and merged while writing, and each student is detached once written, so memory does not
+ * grow with the size of the table.
+ */
+@Service
+public class StudentExportService {
+
+    private final StudentRepository studentRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+
+    public StudentExportService(StudentRepository studentRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.studentRepository = studentRepository;
+        this.entityManager = entityManager;
+        this.writer = objectMapper.writerFor(StudentExportResponse.class);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportStudents(OutputStream outputStream, boolean withCourses) throws IOException {
+        try (Stream<Student> students = studentRepository.streamAllOrderedById();
+             Stream<Object[]> enrollments = withCourses ? studentRepository.streamEnrollmentsOrderedByStudentId() : Stream.empty()) {
+            EnrollmentCursor enrollmentCursor = new EnrollmentCursor(enrollments.iterator());
+            students.forEach(student -> {
+                List<Long> courseIds = withCourses ? enrollmentCursor.courseIdsOf(student.getId()) : null;
+                write(outputStream, new StudentExportResponse(student, courseIds));
+                entityManager.detach(student);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        outputStream.flush();
+    }
+
+    private void write(OutputStream outputStream, StudentExportResponse row) {
+        try {
+            outputStream.write(writer.writeValueAsBytes(row));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class EnrollmentCursor {
+
+        private final Iterator<Object[]> rows;
+        private Object[] current;
+
+        EnrollmentCursor(Iterator<Object[]> rows) {
+            this.rows = rows;
+            this.current = rows.hasNext() ? rows.next() : null;
+        }
+
+        List<Long> courseIdsOf(Long studentId) {
+            while (current != null && (Long) current[0] < studentId) {
+                advance();
+            }
+            if (current == null || !current[0].equals(studentId)) {
+                return Collections.emptyList();
+            }
+            List<Long> courseIds = new ArrayList<>();
+            while (current != null && current[0].equals(studentId)) {
+                courseIds.add((Long) current[1]);
+                advance();
+            }
+            return courseIds;
+        }
+
+        private void advance() {
+            current = rows.hasNext() ? rows.next() : null;
+        }
+    }
+}
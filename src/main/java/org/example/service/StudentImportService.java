@@ -0,0 +1,170 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.example.domain.Gender;
+import org.example.domain.Student;
+import org.example.request.StudentRequest;
+import org.example.response.ImportErrorResponse;
+import org.example.response.StudentImportResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports students from an NDJSON stream, one {@link StudentRequest} per line.
+ * Valid rows are persisted in batches, each batch in its own transaction followed by flush and clear,
+ * so memory stays bounded by the batch size and not by the upload. Batches that committed stay committed
+ * when a later one fails; the response tells the client which lines made it in.
+ */
+@Service
+public class StudentImportService {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader studentRequestReader;
+    private final Validator validator;
+    private final StudentCountTracker studentCountTracker;
+    private final StudentNameIndex studentNameIndex;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public StudentImportService(EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                StudentCountTracker studentCountTracker,
+                                StudentNameIndex studentNameIndex,
+                                @Value("${students.import.batch-size:500}") int batchSize,
+                                @Value("${students.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.studentRequestReader = objectMapper.readerFor(StudentRequest.class);
+        this.validator = validator;
+        this.studentCountTracker = studentCountTracker;
+        this.studentNameIndex = studentNameIndex;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public StudentImportResponse importStudents(InputStream inputStream) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        ImportProgress progress = new ImportProgress();
+        List<Student> batch = new ArrayList<>(batchSize);
+        long batchFirstLine = 0;
+        long lineNumber = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                Student student = toStudent(studentRequestReader.readValue(line));
+                if (batch.isEmpty()) {
+                    batchFirstLine = lineNumber;
+                }
+                batch.add(student);
+            } catch (JsonProcessingException e) {
+                progress.failed(lineNumber, 1, "Malformed JSON: " + e.getOriginalMessage());
+            } catch (InvalidRowException e) {
+                progress.failed(lineNumber, 1, e.getMessage());
+            }
+            if (batch.size() >= batchSize) {
+                persist(batch, batchFirstLine, lineNumber, progress);
+            }
+        }
+        persist(batch, batchFirstLine, lineNumber, progress);
+
+        return new StudentImportResponse(progress.imported, progress.failed, progress.failedBatches, progress.errors);
+    }
+
+    private Student toStudent(StudentRequest studentRequest) {
+        if (studentRequest == null) {
+            throw new InvalidRowException("Expected a student object");
+        }
+        Set<ConstraintViolation<StudentRequest>> violations = validator.validate(studentRequest);
+        if (!violations.isEmpty()) {
+            throw new InvalidRowException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        Gender gender;
+        try {
+            gender = Gender.valueOf(studentRequest.getGender());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRowException("gender: must be one of M, V");
+        }
+        Student student = new Student(studentRequest.getFirstName(), studentRequest.getLastName(), studentRequest.getBirthDate(), gender);
+        student.setGsmNumber(studentRequest.getGsmNumber());
+        return student;
+    }
+
+    /**
+     * Commits one batch. A database failure only rolls back this batch: its rows are counted as failed,
+     * reported once with their line range, and the import goes on with the next batch.
+     */
+    private void persist(List<Student> batch, long firstLine, long lastLine, ImportProgress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                batch.forEach(entityManager::persist);
+                entityManager.flush();
+                batch.forEach(student -> studentNameIndex.put(student.getId(), student.getFirstName(), student.getLastName()));
+                entityManager.clear();
+            });
+        } catch (PersistenceException | DataAccessException | TransactionException e) {
+            progress.failedBatches++;
+            progress.failed(firstLine, batch.size(), "Lines " + firstLine + "-" + lastLine + " were not imported: "
+                    + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            batch.clear();
+            return;
+        }
+        studentCountTracker.added(batch.size());
+        progress.imported += batch.size();
+        batch.clear();
+    }
+
+    private class ImportProgress {
+        private final List<ImportErrorResponse> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+        private long failedBatches;
+
+        void failed(long line, int rows, String message) {
+            failed += rows;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportErrorResponse(line, message));
+            }
+        }
+    }
+
+    private static class InvalidRowException extends RuntimeException {
+        InvalidRowException(String message) {
+            super(message);
+        }
+    }
+}
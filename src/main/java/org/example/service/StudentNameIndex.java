@@ -0,0 +1,261 @@
+package org.example.service;
+
+import org.example.domain.SearchNames;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory prefix index over normalized student name tokens. A sorted token map answers prefix lookups,
+ * and every query token must prefix-match one of the student's tokens. Results are ranked by exact token
+ * matches, then last-name matches, then name length. Writes are applied after their transaction commits.
+ * <p>
+ * The index is built on a background thread once the application is ready, and searches fall back to the database
+ * until it is. A student written while the build runs keeps that write, even if the build reads the row later.
+ */
+@Component
+public class StudentNameIndex {
+
+    private static final int CANDIDATES_PER_RESULT = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final ConcurrentSkipListMap<String, Set<Long>> studentsByToken = new ConcurrentSkipListMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<Long> writtenDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    public StudentNameIndex(DataSource dataSource,
+                            @Value("${students.search.in-memory-index:true}") boolean enabled) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::rebuild, "student-name-index");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            rebuilding = true;
+        }
+        try {
+            jdbcTemplate.query("select id, first_name, last_name from student",
+                    rs -> {
+                        long id = rs.getLong(1);
+                        String firstName = rs.getString(2);
+                        String lastName = rs.getString(3);
+                        synchronized (this) {
+                            if (!writtenDuringRebuild.contains(id)) {
+                                index(id, firstName, lastName);
+                            }
+                        }
+                    });
+            ready = true;
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+                writtenDuringRebuild.clear();
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void put(Long id, String firstName, String lastName) {
+        if (enabled) {
+            afterCommit(() -> write(id, () -> index(id, firstName, lastName)));
+        }
+    }
+
+    public void remove(Long id) {
+        if (enabled) {
+            afterCommit(() -> write(id, () -> unindex(id)));
+        }
+    }
+
+    private synchronized void write(Long id, Runnable change) {
+        if (rebuilding) {
+            writtenDuringRebuild.add(id);
+        }
+        change.run();
+    }
+
+    /**
+     * Returns the ids of the best matching students, best first. Every student with an exact match on one of the
+     * query tokens is scored. Students that only prefix-match are then gathered in token order until there are
+     * {@value #CANDIDATES_PER_RESULT} candidates per requested result. Among those prefix-only students the ranking
+     * is approximate: a better one further down the alphabet can lose to an earlier one for very short prefixes.
+     */
+    public List<Long> search(String query, int limit) {
+        String[] queryTokens = SearchNames.tokens(query);
+        if (queryTokens.length == 0) {
+            return List.of();
+        }
+        String lead = queryTokens[0];
+        for (String token : queryTokens) {
+            if (token.length() > lead.length()) {
+                lead = token;
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (String token : queryTokens) {
+            collect(studentsByToken.getOrDefault(token, Set.of()), queryTokens, seen, matches);
+        }
+        int candidateLimit = matches.size() + limit * CANDIDATES_PER_RESULT;
+        ConcurrentNavigableMap<String, Set<Long>> prefixed = studentsByToken.subMap(lead, false, lead + Character.MAX_VALUE, false);
+        for (Set<Long> ids : prefixed.values()) {
+            if (matches.size() >= candidateLimit) {
+                break;
+            }
+            collect(ids, queryTokens, seen, matches);
+        }
+        return matches.stream()
+                .sorted(Comparator.comparingInt((Match match) -> -match.score)
+                        .thenComparingInt(match -> match.length)
+                        .thenComparingLong(match -> match.id))
+                .limit(limit)
+                .map(match -> match.id)
+                .collect(Collectors.toList());
+    }
+
+    private void collect(Set<Long> ids, String[] queryTokens, Set<Long> seen, List<Match> matches) {
+        for (Long id : ids) {
+            Entry entry = entries.get(id);
+            if (entry != null && seen.add(id)) {
+                int score = entry.score(queryTokens);
+                if (score >= 0) {
+                    matches.add(new Match(id, score, entry.length));
+                }
+            }
+        }
+    }
+
+    private void index(Long id, String firstName, String lastName) {
+        unindex(id);
+        Entry entry = new Entry(SearchNames.tokens(firstName), SearchNames.tokens(lastName));
+        entries.put(id, entry);
+        for (String token : entry.allTokens()) {
+            studentsByToken.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void unindex(Long id) {
+        Entry previous = entries.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.allTokens()) {
+            studentsByToken.computeIfPresent(token, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static class Entry {
+        private final String[] firstNameTokens;
+        private final String[] lastNameTokens;
+        private final int length;
+
+        Entry(String[] firstNameTokens, String[] lastNameTokens) {
+            this.firstNameTokens = firstNameTokens;
+            this.lastNameTokens = lastNameTokens;
+            int total = 0;
+            for (String token : allTokens()) {
+                total += token.length();
+            }
+            this.length = total;
+        }
+
+        List<String> allTokens() {
+            List<String> tokens = new ArrayList<>(firstNameTokens.length + lastNameTokens.length);
+            tokens.addAll(List.of(lastNameTokens));
+            tokens.addAll(List.of(firstNameTokens));
+            return tokens;
+        }
+
+        /**
+         * Scores how well the query tokens match, or returns -1 when a query token matches nothing.
+         */
+        int score(String[] queryTokens) {
+            int score = 0;
+            for (String queryToken : queryTokens) {
+                int best = Math.max(tokenScore(queryToken, lastNameTokens, 1), tokenScore(queryToken, firstNameTokens, 0));
+                if (best < 0) {
+                    return -1;
+                }
+                score += best;
+            }
+            return score;
+        }
+
+        private static int tokenScore(String queryToken, String[] tokens, int bonus) {
+            int best = -1;
+            for (String token : tokens) {
+                if (token.equals(queryToken)) {
+                    best = Math.max(best, 2 + bonus);
+                } else if (token.startsWith(queryToken)) {
+                    best = Math.max(best, bonus);
+                }
+            }
+            return best;
+        }
+    }
+
+    private static class Match {
+        private final long id;
+        private final int score;
+        private final int length;
+
+        Match(long id, int score, int length) {
+            this.id = id;
+            this.score = score;
+            this.length = length;
+        }
+    }
+}
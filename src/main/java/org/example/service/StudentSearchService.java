@@ -0,0 +1,50 @@
+package org.example.service;
+
+import org.example.domain.SearchNames;
+import org.example.repository.StudentRepository;
+import org.example.repository.StudentSearchRepository;
+import org.example.response.StudentResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+public class StudentSearchService {
+    public static final int MAX_LIMIT = 100;
+
+    private final StudentRepository studentRepository;
+    private final StudentSearchRepository studentSearchRepository;
+    private final StudentNameIndex studentNameIndex;
+
+    public StudentSearchService(StudentRepository studentRepository, StudentSearchRepository studentSearchRepository,
+                                StudentNameIndex studentNameIndex) {
+        this.studentRepository = studentRepository;
+        this.studentSearchRepository = studentSearchRepository;
+        this.studentNameIndex = studentNameIndex;
+    }
+
+    public List<StudentResponse> searchStudents(String query, int limit) {
+        int maxResults = Math.max(1, Math.min(limit, MAX_LIMIT));
+        if (studentNameIndex.isReady()) {
+            List<Long> ids = studentNameIndex.search(query, maxResults);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            Map<Long, StudentResponse> students = studentRepository.findAllProjectedByIdIn(ids).stream()
+                    .collect(Collectors.toMap(StudentResponse::getId, Function.identity()));
+            return ids.stream().map(students::get).filter(Objects::nonNull).collect(Collectors.toList());
+        }
+
+        String[] tokens = SearchNames.tokens(query);
+        if (tokens.length == 0) {
+            return List.of();
+        }
+        return studentSearchRepository.findByNameTokens(tokens, maxResults);
+    }
+}
@@ -1,51 +1,200 @@
 package org.example.service;
 
-import org.example.domain.Course;
+import org.example.datasource.ReplicaLagGuard;
 import org.example.domain.Gender;
 import org.example.domain.Student;
+import org.example.exceptions.BadRequestException;
+import org.example.exceptions.PreconditionFailedException;
 import org.example.exceptions.ResourceNotFoundException;
 import org.example.repository.CourseRepository;
+import org.example.repository.EnrollmentRepository;
 import org.example.repository.StudentRepository;
 import org.example.request.CourseRequest;
 import org.example.request.StudentRequest;
+import org.example.response.CursorPage;
+import org.example.response.StudentBatchResponse;
 import org.example.response.StudentResponse;
 import org.example.response.StudentWithCoursesResponse;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
-import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
+@Transactional
 public class StudentService {
+    public static final String STUDENT_CACHE = "students";
+    public static final String STUDENT_WITH_COURSES_CACHE = "studentsWithCourses";
+    public static final int MAX_BATCH_IDS = 1000;
+    private static final int IN_CHUNK_SIZE = 500;
+
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudentCountTracker studentCountTracker;
+    private final StudentNameIndex studentNameIndex;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final TransactionTemplate transactionTemplate;
 
 
-    public StudentService(StudentRepository studentRepository, CourseRepository courseRepository) {
+    public StudentService(StudentRepository studentRepository, CourseRepository courseRepository,
+                          EnrollmentRepository enrollmentRepository, StudentCountTracker studentCountTracker,
+                          StudentNameIndex studentNameIndex, ReplicaLagGuard replicaLagGuard,
+                          PlatformTransactionManager transactionManager) {
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.studentCountTracker = studentCountTracker;
+        this.studentNameIndex = studentNameIndex;
+        this.replicaLagGuard = replicaLagGuard;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    @Transactional(readOnly = true)
     public Page<StudentResponse> findAllStudents(Pageable pageable){
-        return studentRepository.findAll(pageable).map(StudentResponse::new);
+        return studentRepository.findAllProjectedBy(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<StudentResponse> findStudentsSlice(Pageable pageable) {
+        return studentRepository.findAllSlicedBy(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<StudentResponse> findAllStudentsWithApproximateTotal(Pageable pageable) {
+        Slice<StudentResponse> slice = studentRepository.findAllSlicedBy(pageable);
+        long total = studentCountTracker.approximateTotal();
+        if (slice.hasNext()) {
+            total = Math.max(total, pageable.getOffset() + slice.getNumberOfElements() + 1);
+        }
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<StudentResponse> findStudentsAfter(String after, int size) {
+        int pageSize = IdCursor.clampSize(size);
+        List<StudentResponse> students = studentRepository.findAllProjectedAfter(IdCursor.decode(after), PageRequest.of(0, pageSize + 1));
+        return IdCursor.page(students, pageSize, StudentResponse::getId);
+    }
+
+    /**
+     * Resolves the students in the requested order with one IN query per chunk of ids. Duplicate ids are
+     * returned once; ids without a student are reported instead of failing the whole batch.
+     */
+    @Transactional(readOnly = true)
+    public StudentBatchResponse<StudentResponse> retrieveStudentsByIds(List<Long> studentIds) {
+        Set<Long> requested = requestedIds(studentIds);
+        replicaLagGuard.readingStudents(requested);
+        Map<Long, StudentResponse> found = new HashMap<>();
+        for (List<Long> chunk : chunks(requested)) {
+            studentRepository.findAllProjectedByIdIn(chunk).forEach(student -> found.put(student.getId(), student));
+        }
+        return inRequestedOrder(requested, found);
+    }
+
+    @Transactional(readOnly = true)
+    public StudentBatchResponse<StudentWithCoursesResponse> retrieveStudentsByIdsWithCourses(List<Long> studentIds) {
+        Set<Long> requested = requestedIds(studentIds);
+        replicaLagGuard.readingStudents(requested);
+        Map<Long, StudentWithCoursesResponse> found = new HashMap<>();
+        for (List<Long> chunk : chunks(requested)) {
+            studentRepository.findAllWithCoursesByIdIn(chunk).forEach(student -> found.put(student.getId(), new StudentWithCoursesResponse(student)));
+        }
+        return inRequestedOrder(requested, found);
+    }
+
+    private static Set<Long> requestedIds(List<Long> studentIds) {
+        Set<Long> requested = new LinkedHashSet<>();
+        for (Long studentId : studentIds) {
+            if (studentId != null) {
+                requested.add(studentId);
+            }
+        }
+        if (requested.isEmpty()) {
+            throw new BadRequestException("No student ids given");
+        }
+        if (requested.size() > MAX_BATCH_IDS) {
+            throw new BadRequestException("At most " + MAX_BATCH_IDS + " student ids can be fetched at once");
+        }
+        return requested;
+    }
+
+    private static List<List<Long>> chunks(Set<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += IN_CHUNK_SIZE) {
+            chunks.add(all.subList(from, Math.min(all.size(), from + IN_CHUNK_SIZE)));
+        }
+        return chunks;
     }
 
+    private static <T extends StudentResponse> StudentBatchResponse<T> inRequestedOrder(Set<Long> requested, Map<Long, T> found) {
+        List<T> students = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long studentId : requested) {
+            T student = found.get(studentId);
+            if (student == null) {
+                missingIds.add(studentId);
+            } else {
+                students.add(student);
+            }
+        }
+        return new StudentBatchResponse<>(students, missingIds);
+    }
+
+    @Transactional(readOnly = true)
+    public String retrieveStudentETag(Long studentId) {
+        replicaLagGuard.readingStudent(studentId);
+        return studentRepository.findVersionById(studentId)
+                .map(ETags::of)
+                .orElseThrow(() -> new ResourceNotFoundException(studentId.toString(), "student"));
+    }
+
+    @Transactional(readOnly = true)
+    public String retrieveStudentWithCoursesETag(Long studentId) {
+        replicaLagGuard.readingStudent(studentId);
+        return studentRepository.findCoursesVersionById(studentId)
+                .map(version -> ETags.of(version.getStudentVersion(), version.getCourseCount(), version.getCourseVersionSum()))
+                .orElseThrow(() -> new ResourceNotFoundException(studentId.toString(), "student"));
+    }
+
+    @Cacheable(cacheNames = STUDENT_CACHE, key = "#studentId")
+    @Transactional(readOnly = true)
     public StudentResponse retrieveStudentById(@PathVariable(name = "studentId") Long studentId) {
+        replicaLagGuard.readingStudent(studentId);
         return new StudentResponse(studentRepository.findById(studentId).orElseThrow(() -> new ResourceNotFoundException(studentId.toString(), "student")));
     }
 
+    @Cacheable(cacheNames = STUDENT_WITH_COURSES_CACHE, key = "#studentId")
+    @Transactional(readOnly = true)
     public StudentWithCoursesResponse retrieveStudentByIdWithCourses(@PathVariable(name = "studentId") Long studentId) {
-        return new StudentWithCoursesResponse(studentRepository.findById(studentId).orElseThrow(() -> new ResourceNotFoundException(studentId.toString(), "student")));
+        replicaLagGuard.readingStudent(studentId);
+        return new StudentWithCoursesResponse(studentRepository.findWithCoursesById(studentId).orElseThrow(() -> new ResourceNotFoundException(studentId.toString(), "student")));
     }
 
-    public ResponseEntity<Object> createStudent(@RequestBody @Valid StudentRequest studentRequest) {
+    public Long createStudent(@RequestBody @Valid StudentRequest studentRequest) {
         Student student = new Student(
                 studentRequest.getFirstName(),
                 studentRequest.getLastName(),
@@ -54,17 +203,20 @@ public class StudentService {
         );
         student.setGsmNumber(studentRequest.getGsmNumber());
         Student l = studentRepository.save(student);
-        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
-                .path("/{id}")
-                .buildAndExpand(l.getId())
-                .toUri();
-
-        return ResponseEntity.created(location).build();
+        studentCountTracker.added(1);
+        studentNameIndex.put(l.getId(), l.getFirstName(), l.getLastName());
+        replicaLagGuard.written(l.getId());
+        return l.getId();
     }
 
-    public StudentResponse putStudent(@PathVariable(name = "studentId") Long studentId,
-                                      @RequestBody @Valid StudentRequest studentRequest) {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = STUDENT_CACHE, key = "#studentId"),
+            @CacheEvict(cacheNames = STUDENT_WITH_COURSES_CACHE, key = "#studentId")})
+    public ResponseEntity<StudentResponse> putStudent(@PathVariable(name = "studentId") Long studentId,
+                                                      @RequestBody @Valid StudentRequest studentRequest,
+                                                      String ifMatch) {
         Student student = studentRepository.findById(Long.parseLong(studentId.toString())).orElseThrow(() -> new ResourceNotFoundException(studentId.toString(), "student"));
+        checkIfMatch(student, ifMatch);
 
         student.setFirstName(studentRequest.getFirstName());
         student.setLastName(studentRequest.getLastName());
@@ -72,12 +224,19 @@ public class StudentService {
         student.setGender(Gender.valueOf(studentRequest.getGender()));
         student.setGsmNumber(studentRequest.getGsmNumber());
 
-        return new StudentResponse(studentRepository.save(student));
+        studentNameIndex.put(student.getId(), student.getFirstName(), student.getLastName());
+        replicaLagGuard.written(studentId);
+        return versioned(studentRepository.saveAndFlush(student));
     }
 
-    public StudentResponse patchStudent(@PathVariable("studentId") Long studentId,
-                                        @RequestBody StudentRequest studentRequest) {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = STUDENT_CACHE, key = "#studentId"),
+            @CacheEvict(cacheNames = STUDENT_WITH_COURSES_CACHE, key = "#studentId")})
+    public ResponseEntity<StudentResponse> patchStudent(@PathVariable("studentId") Long studentId,
+                                                        @RequestBody StudentRequest studentRequest,
+                                                        String ifMatch) {
         Student student = studentRepository.findById(studentId).orElseThrow(() -> new ResourceNotFoundException(studentId.toString(), "student"));
+        checkIfMatch(student, ifMatch);
         if (studentRequest.getFirstName() != null) {
             student.setFirstName(studentRequest.getFirstName());
         }
@@ -94,32 +253,80 @@ public class StudentService {
             student.setGsmNumber(studentRequest.getGsmNumber());
         }
 
-        return new StudentResponse(studentRepository.save(student));
+        studentNameIndex.put(student.getId(), student.getFirstName(), student.getLastName());
+        replicaLagGuard.written(studentId);
+        return versioned(studentRepository.saveAndFlush(student));
+    }
+
+    private void checkIfMatch(Student student, String ifMatch) {
+        if (ifMatch != null && !ETags.matchesStrongly(ifMatch, ETags.of(student.getVersion()))) {
+            throw new PreconditionFailedException(student.getId().toString(), "student");
+        }
+    }
+
+    private ResponseEntity<StudentResponse> versioned(Student student) {
+        return ResponseEntity.ok()
+                .eTag(ETags.of(student.getVersion()))
+                .body(new StudentResponse(student));
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = STUDENT_CACHE, key = "#studentId"),
+            @CacheEvict(cacheNames = STUDENT_WITH_COURSES_CACHE, key = "#studentId")})
     public void deleteStudent(@PathVariable("studentId") Long studentId) {
         Student student = studentRepository.findById(studentId).orElseThrow(() -> new ResourceNotFoundException(studentId.toString(), "student"));
 
         try {
             studentRepository.deleteById(studentId);
+            studentCountTracker.removed(1);
+            studentNameIndex.remove(studentId);
+            replicaLagGuard.written(studentId);
         } catch (EmptyResultDataAccessException e) {
             // fine
         }
     }
 
+    /**
+     * Runs in its own transaction so that losing a race against a concurrent enrollment of the same pair can be
+     * handled after the failed transaction has rolled back: the other request already enrolled the student.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = STUDENT_CACHE, key = "#studentId"),
+            @CacheEvict(cacheNames = STUDENT_WITH_COURSES_CACHE, key = "#studentId")})
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void addCourseToStudent(@PathVariable(name = "studentId") Long studentId, @RequestBody @Valid CourseRequest courseRequest){
-        Student student = studentRepository.findById(studentId).orElseThrow(() -> new ResourceNotFoundException(studentId.toString(), "student"));
-        Course course = courseRepository.findById(courseRequest.getId()).orElseThrow(() -> new ResourceNotFoundException(courseRequest.getId().toString(), "course"));
-        student.addCourse(course);
-        studentRepository.save(student);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                checkEnrollmentTargets(studentId, courseRequest.getId());
+                if (enrollmentRepository.enroll(studentId, courseRequest.getId())) {
+                    enrollmentRepository.touchStudent(studentId);
+                    replicaLagGuard.written(studentId);
+                }
+            });
+        } catch (DuplicateKeyException e) {
+            // already enrolled by the concurrent request
+        }
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = STUDENT_CACHE, key = "#studentId"),
+            @CacheEvict(cacheNames = STUDENT_WITH_COURSES_CACHE, key = "#studentId")})
     public void deleteCourseOfStudent(@PathVariable(name = "studentId") Long studentId,
                                       @PathVariable(name = "courseId") Long courseId) {
-        Student student = studentRepository.findById(studentId).orElseThrow(() -> new ResourceNotFoundException(studentId.toString(), "student"));
-        Course course = courseRepository.findById(courseId).orElseThrow(() -> new ResourceNotFoundException(courseId.toString(), "course"));
-        student.removeCourse(course);
-        studentRepository.save(student);
+        checkEnrollmentTargets(studentId, courseId);
+        if (enrollmentRepository.unenroll(studentId, courseId)) {
+            enrollmentRepository.touchStudent(studentId);
+            replicaLagGuard.written(studentId);
+        }
+    }
+
+    private void checkEnrollmentTargets(Long studentId, Long courseId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException(studentId.toString(), "student");
+        }
+        if (courseRepository.findById(courseId).isEmpty()) {
+            throw new ResourceNotFoundException(courseId.toString(), "course");
+        }
     }
 
 }
@@ -1,11 +1,77 @@
 package org.example;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
 class StudentsApplicationTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private InMemoryUserDetailsManager userDetailsManager;
+
     @Test
     void contextLoads() {
     }
+
+    @Test
+    void adminAccountIsDisabledWithoutAPassword() {
+        assertThat(userDetailsManager.userExists("spring")).isTrue();
+        assertThat(userDetailsManager.userExists("admin")).isFalse();
+    }
+
+    @WithMockUser(roles = "USER")
+    @Test
+    void actuatorIsForbiddenForUsers() throws Exception {
+        for (String endpoint : List.of("prometheus", "metrics", "caches")) {
+            mvc.perform(get("/actuator/" + endpoint))
+                    .andExpect(status().isForbidden());
+        }
+        mvc.perform(delete("/actuator/caches").with(csrf()))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @WithMockUser(roles = {"USER", "ADMIN"})
+    @Test
+    void cachesAndMetricsAreAvailableForAdmins() throws Exception {
+        mvc.perform(get("/actuator/caches"))
+                .andExpect(status().isOk());
+        mvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isOk());
+    }
+
+    @WithMockUser(roles = {"USER", "ADMIN"})
+    @Test
+    void prometheusIsAvailableForAdmins() throws Exception {
+        mvc.perform(asyncDispatch(mvc.perform(get("/private/students")).andReturn()))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("students_http_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds")));
+    }
 }
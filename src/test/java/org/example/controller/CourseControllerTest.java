@@ -0,0 +1,168 @@
+package org.example.controller;
+
+import org.example.domain.Course;
+import org.example.domain.Gender;
+import org.example.domain.Student;
+import org.example.repository.CourseRepository;
+import org.example.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "USER")
+class CourseControllerTest {
+
+    private final String baseUrl = "/private/courses";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long ios;
+    private Long android;
+    private Long john;
+
+    @BeforeEach
+    void createCoursesWithEnrollments() {
+        ios = courseRepository.save(new Course("iOS", 3)).getId();
+        android = courseRepository.save(new Course("Android", 2)).getId();
+        john = studentRepository.save(new Student("John", "Johnson", LocalDate.of(2002, 9, 6), Gender.M)).getId();
+        Long mei = studentRepository.save(new Student("Mei", "Cheng", LocalDate.of(1999, 3, 14), Gender.V)).getId();
+        jdbcTemplate.update("insert into student_courses (student_id, course_id) values (?, ?), (?, ?)", john, ios, mei, ios);
+    }
+
+    @AfterEach
+    void deleteAll() {
+        jdbcTemplate.update("delete from student_courses");
+        jdbcTemplate.update("delete from student");
+        jdbcTemplate.update("delete from course");
+    }
+
+    private static String course(String name, int phase) {
+        return "{\"name\":\"" + name + "\",\"phase\":" + phase + "}";
+    }
+
+    @Test
+    void listsCoursesWithEnrollmentCounts() throws Exception {
+        mvc.perform(get(baseUrl).param("sort", "id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("iOS"))
+                .andExpect(jsonPath("$.content[0].enrollmentCount").value(2))
+                .andExpect(jsonPath("$.content[1].name").value("Android"))
+                .andExpect(jsonPath("$.content[1].enrollmentCount").value(0));
+
+        mvc.perform(get(baseUrl).param("phase", "2"))
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(android));
+    }
+
+    @Test
+    void retrievesCourseWithEnrollmentCount() throws Exception {
+        mvc.perform(get(baseUrl + "/" + ios))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("iOS"))
+                .andExpect(jsonPath("$.phase").value(3))
+                .andExpect(jsonPath("$.enrollmentCount").value(2));
+    }
+
+    @Test
+    void unknownCourseIsNotFound() throws Exception {
+        mvc.perform(get(baseUrl + "/-1"))
+                .andExpect(status().isNotFound());
+        mvc.perform(get(baseUrl + "/-1/students"))
+                .andExpect(status().isNotFound());
+        mvc.perform(put(baseUrl + "/-1").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(course("Swift", 3)))
+                .andExpect(status().isNotFound());
+        mvc.perform(delete(baseUrl + "/-1").with(csrf()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void createsCourse() throws Exception {
+        String location = mvc.perform(post(baseUrl).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(course("Ethical Hacking", 2)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", endsWith(baseUrl + "/" + courseRepository.findByName("Ethical Hacking").get().getId())))
+                .andReturn().getResponse().getHeader("Location");
+
+        mvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Ethical Hacking"))
+                .andExpect(jsonPath("$.enrollmentCount").value(0));
+    }
+
+    @Test
+    void rejectsInvalidCourse() throws Exception {
+        mvc.perform(post(baseUrl).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(course("", 0)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updatesCourseAndKeepsItsEnrollments() throws Exception {
+        mvc.perform(put(baseUrl + "/" + ios).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(course("Swift", 4)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Swift"))
+                .andExpect(jsonPath("$.phase").value(4))
+                .andExpect(jsonPath("$.enrollmentCount").value(2));
+
+        mvc.perform(get(baseUrl + "/" + ios))
+                .andExpect(jsonPath("$.name").value("Swift"));
+    }
+
+    @Test
+    void deletesCourseAndItsEnrollments() throws Exception {
+        mvc.perform(delete(baseUrl + "/" + ios).with(csrf()))
+                .andExpect(status().isNoContent());
+
+        mvc.perform(get(baseUrl + "/" + ios))
+                .andExpect(status().isNotFound());
+        assertThat(jdbcTemplate.queryForObject("select count(*) from student_courses", Long.class)).isZero();
+        assertThat(studentRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void deletingACourseChangesTheEnrolledStudentsVersion() throws Exception {
+        Long before = studentVersion(john);
+
+        mvc.perform(delete(baseUrl + "/" + ios).with(csrf()))
+                .andExpect(status().isNoContent());
+
+        assertThat(studentVersion(john)).isGreaterThan(before);
+    }
+
+    private Long studentVersion(Long studentId) {
+        return jdbcTemplate.queryForObject("select version from student where id = ?", Long.class, studentId);
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.controller;
+
+import org.example.domain.Course;
+import org.example.domain.Gender;
+import org.example.domain.Student;
+import org.example.repository.CourseRepository;
+import org.example.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Runs against the real service and database, so versions and ETags change the way they do in production.
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "USER")
+class StudentConditionalRequestTest {
+
+    private static final String STUDENT = "{\"firstName\":\"%s\",\"lastName\":\"Johnson\",\"birthDate\":\"2002-09-06\",\"gender\":\"M\"}";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long studentId;
+    private String studentUrl;
+    private Long courseId;
+
+    @BeforeEach
+    void createStudentAndCourse() {
+        studentId = studentRepository.save(new Student("John", "Johnson", LocalDate.of(2002, 9, 6), Gender.M)).getId();
+        studentUrl = "/private/students/" + studentId;
+        courseId = courseRepository.save(new Course("Backend Programming", 3)).getId();
+    }
+
+    @AfterEach
+    void deleteAll() {
+        jdbcTemplate.update("delete from student_courses");
+        jdbcTemplate.update("delete from student");
+        jdbcTemplate.update("delete from course");
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result));
+    }
+
+    private String etagOf(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        return performAsync(requestBuilder)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+    }
+
+    private MockHttpServletRequestBuilder putStudent(String firstName, String ifMatch) {
+        return put(studentUrl)
+                .with(csrf())
+                .header("If-Match", ifMatch)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format(STUDENT, firstName));
+    }
+
+    @Test
+    void staleIfMatchIsRejected() throws Exception {
+        String original = etagOf(get(studentUrl));
+
+        String updated = performAsync(putStudent("Johnny", original))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(updated).isNotEqualTo(original);
+
+        performAsync(putStudent("Jack", original))
+                .andExpect(status().isPreconditionFailed());
+        performAsync(get(studentUrl))
+                .andExpect(jsonPath("$.name").value("Johnson Johnny"));
+    }
+
+    @Test
+    void weakIfMatchIsRejected() throws Exception {
+        String current = etagOf(get(studentUrl));
+
+        performAsync(putStudent("Johnny", "W/" + current))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void enrollmentMakesIfMatchStale() throws Exception {
+        String beforeEnrollment = etagOf(get(studentUrl));
+
+        performAsync(post(studentUrl + "/courses")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":" + courseId + "}"))
+                .andExpect(status().is2xxSuccessful());
+
+        performAsync(putStudent("Johnny", beforeEnrollment))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void coursesETagChangesAfterEnrollment() throws Exception {
+        String beforeEnrollment = etagOf(get(studentUrl + "/courses"));
+        performAsync(get(studentUrl + "/courses").header("If-None-Match", beforeEnrollment))
+                .andExpect(status().isNotModified());
+
+        performAsync(post(studentUrl + "/courses")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":" + courseId + "}"))
+                .andExpect(status().is2xxSuccessful());
+
+        String afterEnrollment = performAsync(get(studentUrl + "/courses").header("If-None-Match", beforeEnrollment))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courses.length()").value(1))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(afterEnrollment).isNotEqualTo(beforeEnrollment);
+    }
+
+    @Test
+    void etagDescribesTheBodyItIsSentWith() throws Exception {
+        String cached = etagOf(get(studentUrl));
+        String cachedWithCourses = etagOf(get(studentUrl + "/courses"));
+
+        // Changes the row without evicting the cached bodies, as a write racing with a read can.
+        jdbcTemplate.update("update student set first_name = 'Johnny', version = version + 1 where id = ?", studentId);
+
+        performAsync(get(studentUrl))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", cached))
+                .andExpect(jsonPath("$.name").value("Johnson John"));
+        performAsync(get(studentUrl + "/courses"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", cachedWithCourses));
+    }
+}
@@ -7,6 +7,11 @@ import org.example.domain.Student;
 import org.example.repository.CourseRepository;
 import org.example.repository.StudentRepository;
 import org.example.request.StudentRequest;
+import org.example.response.CursorPage;
+import org.example.response.StudentBatchResponse;
+import org.example.response.StudentResponse;
+import org.example.service.DatabaseExecutor;
+import org.example.service.StudentSearchService;
 import org.example.service.StudentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,20 +20,27 @@ import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import static org.example.instrumentation.SqlAssertions.maxStatements;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,6 +51,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @RunWith(SpringRunner.class)
 @WebMvcTest(StudentController.class)
+@Import(DatabaseExecutor.class)
 class StudentControllerTest {
 
     private final String baseUrl = "/private/students";
@@ -53,12 +66,22 @@ class StudentControllerTest {
     @MockBean
     private StudentService studentService;
 
+    @MockBean
+    private StudentSearchService studentSearchService;
+
     @Autowired
     private MockMvc mvc;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    private ResultActions performAsync(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result));
+    }
+
     private List<Course> courses;
     private List<Student> students;
 
@@ -86,7 +109,7 @@ class StudentControllerTest {
     @WithMockUser(value = "spring")
     @Test
     public void givenAuthRequestOnPrivateService_shouldSucceedWith200() throws Exception {
-        mvc.perform(get(baseUrl).contentType(MediaType.APPLICATION_JSON))
+        performAsync(get(baseUrl).contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
     }
     @WithMockUser("spring")
@@ -96,15 +119,106 @@ class StudentControllerTest {
         PageRequest of = PageRequest.of(0, 20);
         when(studentService.findAllStudents(of)).thenReturn(page);
 
-        mvc.perform(get(baseUrl)).andDo(print())
+        performAsync(get(baseUrl)).andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.content", hasSize(3)))
                 .andExpect(jsonPath("$.content[0].firstName", equalTo("John")))
                 .andExpect(jsonPath("$.content[1].firstName", equalTo("Mark")))
-                .andExpect(jsonPath("$.content[2].firstName", equalTo("Mei")));
+                .andExpect(jsonPath("$.content[2].firstName", equalTo("Mei")))
+                .andExpect(maxStatements(0));
+
+
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void findStudentsWithoutCount() throws Exception {
+        List<StudentResponse> content = List.of(new StudentResponse(4L, "Mei", "Cheng", LocalDate.of(1999, 3, 14), Gender.V));
+        when(studentService.findStudentsSlice(PageRequest.of(0, 1))).thenReturn(new SliceImpl<>(content, PageRequest.of(0, 1), true));
+
+        performAsync(get(baseUrl).param("count", "none").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.last", equalTo(false)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void findStudentsWithApproximateCount() throws Exception {
+        List<StudentResponse> content = List.of(new StudentResponse(4L, "Mei", "Cheng", LocalDate.of(1999, 3, 14), Gender.V));
+        when(studentService.findAllStudentsWithApproximateTotal(PageRequest.of(0, 1))).thenReturn(new PageImpl<>(content, PageRequest.of(0, 1), 57));
+
+        performAsync(get(baseUrl).param("count", "approximate").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.totalElements", equalTo(57)));
+        verify(studentService, never()).findAllStudents(any());
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void findStudentsAfterCursor() throws Exception {
+        List<StudentResponse> page = List.of(new StudentResponse(4L, "Mei", "Cheng", LocalDate.of(1999, 3, 14), Gender.V));
+        when(studentService.findStudentsAfter("Mw", 1)).thenReturn(new CursorPage<>(page, "NA"));
+
+        performAsync(get(baseUrl).param("after", "Mw").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name", equalTo("Cheng Mei")))
+                .andExpect(jsonPath("$.nextCursor", equalTo("NA")))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void findByIds() throws Exception {
+        List<StudentResponse> found = List.of(
+                new StudentResponse(9L, "Mei", "Cheng", LocalDate.of(1999, 3, 14), Gender.V),
+                new StudentResponse(4L, "John", "Johnson", LocalDate.of(2002, 9, 6), Gender.M));
+        when(studentService.retrieveStudentsByIds(List.of(9L, 5L, 4L))).thenReturn(new StudentBatchResponse<>(found, List.of(5L)));
+
+        performAsync(get(baseUrl + "/bulk").param("ids", "9,5,4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students[*].id", contains(9, 4)))
+                .andExpect(jsonPath("$.missingIds", contains(5)));
+
+        performAsync(get(baseUrl + "/bulk").param("ids", "9,5,4").param("count", "none").param("after", "NA"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.missingIds", contains(5)));
+
+        verify(studentService, never()).retrieveStudentsByIdsWithCourses(any());
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void searchStudents() throws Exception {
+        List<StudentResponse> found = List.of(new StudentResponse(4L, "John", "Johnson", LocalDate.of(2002, 9, 6), Gender.M));
+        when(studentSearchService.searchStudents("joh", 5)).thenReturn(found);
+
+        performAsync(get(baseUrl + "/search").param("q", "joh").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", equalTo("Johnson John")));
+
+        when(studentSearchService.searchStudents("mei", 10)).thenReturn(List.of());
+        performAsync(get(baseUrl + "/search").param("q", "mei"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void findByIdNotModified() throws Exception {
+        when(studentService.retrieveStudentETag(22L)).thenReturn("\"3\"");
 
+        performAsync(get(baseUrl + "/22").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
 
+        verify(studentService, never()).retrieveStudentById(22L);
     }
 
     /*
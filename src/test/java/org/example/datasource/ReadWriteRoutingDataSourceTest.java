@@ -0,0 +1,92 @@
+package org.example.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = markedDatabase("primary");
+        replica = markedDatabase("replica");
+        ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(primary, replica);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    private static EmbeddedDatabase markedDatabase(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name)
+                .build();
+        new JdbcTemplate(database).execute("create table marker (name varchar(10))");
+        new JdbcTemplate(database).update("insert into marker values (?)", name);
+        return database;
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("select name from marker", String.class);
+    }
+
+    @Test
+    void writeTransactionsUsePrimary() {
+        assertThat(writeTransaction.<String>execute(status -> marker())).isEqualTo("primary");
+        assertThat(marker()).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertThat(readOnlyTransaction.<String>execute(status -> marker())).isEqualTo("replica");
+    }
+
+    @Test
+    void pinnedReadOnlyTransactionUsesPrimaryUntilItEnds() {
+        assertThat(readOnlyTransaction.<String>execute(status -> {
+            ReadRouting.pinToPrimary();
+            return marker();
+        })).isEqualTo("primary");
+
+        assertThat(readOnlyTransaction.<String>execute(status -> marker())).isEqualTo("replica");
+    }
+
+    @Test
+    void recentlyWrittenStudentsAreReadFromPrimary() {
+        ReplicaLagGuard guard = new ReplicaLagGuard(true, Duration.ofMinutes(1));
+        writeTransaction.executeWithoutResult(status -> guard.written(7L));
+
+        assertThat(readOnlyTransaction.<String>execute(status -> {
+            guard.readingStudent(7L);
+            return marker();
+        })).isEqualTo("primary");
+        assertThat(readOnlyTransaction.<String>execute(status -> {
+            guard.readingStudent(8L);
+            return marker();
+        })).isEqualTo("replica");
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.domain;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class PooledSequenceGeneratorTest {
+
+    private static final int IDS = PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE * 2 + 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void studentIdsSpanSeveralAllocationBlocks() {
+        List<Long> ids = persist(i -> new Student("First" + i, "Last" + i, LocalDate.of(2000, 1, 1), Gender.V));
+
+        assertContiguous(ids);
+        assertThat(increment("STUDENT_SEQ")).isEqualTo(PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE);
+    }
+
+    @Test
+    void courseIdsSpanSeveralAllocationBlocks() {
+        List<Long> ids = persist(i -> new Course("Course " + i, 1 + i % 3));
+
+        assertContiguous(ids);
+        assertThat(increment("COURSE_SEQ")).isEqualTo(PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE);
+    }
+
+    private List<Long> persist(IntFunction<Object> entity) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < IDS; i++) {
+            ids.add(entityManager.persistAndGetId(entity.apply(i), Long.class));
+        }
+        entityManager.flush();
+        return ids;
+    }
+
+    // pooled-lo hands out every value of a block before fetching the next one, so a single node sees no gaps
+    private static void assertContiguous(List<Long> ids) {
+        assertThat(ids).doesNotHaveDuplicates().isSorted();
+        assertThat(ids.get(ids.size() - 1) - ids.get(0)).isEqualTo(IDS - 1);
+    }
+
+    private int increment(String sequence) {
+        return ((Number) entityManager.getEntityManager()
+                .createNativeQuery("select increment from information_schema.sequences where sequence_name = ?1")
+                .setParameter(1, sequence)
+                .getSingleResult()).intValue();
+    }
+}
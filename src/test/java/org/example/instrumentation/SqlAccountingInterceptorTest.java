@@ -0,0 +1,96 @@
+package org.example.instrumentation;
+
+import org.example.domain.Course;
+import org.example.domain.Gender;
+import org.example.domain.Student;
+import org.example.repository.CourseRepository;
+import org.example.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "students.sql-accounting.debug-headers=true")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "USER")
+class SqlAccountingInterceptorTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void deleteAll() {
+        jdbcTemplate.update("delete from student_courses");
+        jdbcTemplate.update("delete from student");
+        jdbcTemplate.update("delete from course");
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result));
+    }
+
+    @Test
+    void writesHeadersForResponsesWithABody() throws Exception {
+        Long studentId = studentRepository.save(new Student("John", "Johnson", LocalDate.of(2002, 9, 6), Gender.M)).getId();
+
+        performAsync(get("/private/students/" + studentId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SqlAccountingInterceptor.STATEMENTS_HEADER))
+                .andExpect(header().exists(SqlAccountingInterceptor.ROWS_HEADER))
+                .andExpect(header().exists(SqlAccountingInterceptor.ENTITIES_HEADER));
+    }
+
+    @Test
+    void writesHeadersForNotModifiedResponses() throws Exception {
+        Long studentId = studentRepository.save(new Student("John", "Johnson", LocalDate.of(2002, 9, 6), Gender.M)).getId();
+        String etag = performAsync(get("/private/students/" + studentId))
+                .andReturn().getResponse().getHeader("ETag");
+
+        performAsync(get("/private/students/" + studentId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().exists(SqlAccountingInterceptor.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void writesHeadersForEmptyResponses() throws Exception {
+        Long courseId = courseRepository.save(new Course("iOS", 3)).getId();
+
+        mvc.perform(delete("/private/courses/" + courseId).with(csrf()))
+                .andExpect(status().isNoContent())
+                .andExpect(header().exists(SqlAccountingInterceptor.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void writesHeadersForSynchronousResponsesWithABody() throws Exception {
+        Long courseId = courseRepository.save(new Course("iOS", 3)).getId();
+
+        mvc.perform(get("/private/courses/" + courseId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SqlAccountingInterceptor.STATEMENTS_HEADER));
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.instrumentation;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query count assertions. Repository tests need {@code @Import(SqlAccountingConfigurer.class)}; MockMvc tests
+ * pick up the counting interceptor automatically.
+ */
+public final class SqlAssertions {
+
+    private SqlAssertions() {
+    }
+
+    public static SqlCounts count(Runnable action) {
+        SqlCounts previous = SqlStatementCounter.current();
+        SqlCounts counts = SqlStatementCounter.start();
+        try {
+            action.run();
+        } finally {
+            SqlStatementCounter.attach(previous);
+        }
+        return counts;
+    }
+
+    public static SqlCounts assertMaxStatements(long max, Runnable action) {
+        SqlCounts counts = count(action);
+        assertThat(counts.getStatements()).as("SQL statements, %s", counts).isLessThanOrEqualTo(max);
+        return counts;
+    }
+
+    public static ResultMatcher maxStatements(long max) {
+        return result -> {
+            SqlCounts counts = (SqlCounts) result.getRequest().getAttribute(SqlStatementCounter.REQUEST_ATTRIBUTE);
+            assertThat(counts).as("SQL counts of the request").isNotNull();
+            assertThat(counts.getStatements()).as("SQL statements, %s", counts).isLessThanOrEqualTo(max);
+        };
+    }
+}
@@ -1,13 +1,20 @@
 package org.example.repository;
 
 import org.example.domain.Course;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.transaction.annotation.Propagation.NOT_SUPPORTED;
 
 @DataJpaTest
 class CourseRepositoryTest {
@@ -15,6 +22,12 @@ class CourseRepositoryTest {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Test
     public void simpleCrud(){
         Course backend = courseRepository.save(new Course("Backend Programming", 2));
@@ -63,4 +76,24 @@ class CourseRepositoryTest {
 
         assertThat(courseRepository.findByName("----").isEmpty()).isTrue();
     }
+
+    // READ_WRITE entries only become visible to other sessions once the inserting transaction commits,
+    // so this test runs outside the test-managed transaction and cleans up after itself.
+    @Test
+    @Transactional(propagation = NOT_SUPPORTED)
+    void findByIdIsServedFromSecondLevelCache() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long id = transaction.execute(status -> courseRepository.save(new Course("Android", 2)).getId());
+        try {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            transaction.executeWithoutResult(status -> courseRepository.findById(id));
+            transaction.executeWithoutResult(status -> courseRepository.findById(id));
+
+            assertThat(statistics.getDomainDataRegionStatistics("course").getHitCount()).isEqualTo(2);
+        } finally {
+            transaction.executeWithoutResult(status -> courseRepository.deleteById(id));
+        }
+    }
 }
@@ -0,0 +1,78 @@
+package org.example.repository;
+
+import org.example.domain.Course;
+import org.example.domain.Gender;
+import org.example.domain.Student;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(EnrollmentRepository.class)
+class EnrollmentRepositoryTest {
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void enrollIsIdempotent() {
+        Long courseId = entityManager.persistAndGetId(new Course("iOS", 3), Long.class);
+        Long studentId = entityManager.persistAndGetId(new Student("Mark", "Michaelson", LocalDate.of(2004, 1, 20), Gender.M), Long.class);
+        entityManager.flush();
+
+        assertThat(enrollmentRepository.enroll(studentId, courseId)).isTrue();
+        assertThat(enrollmentRepository.enroll(studentId, courseId)).isFalse();
+        entityManager.clear();
+
+        assertThat(studentRepository.findWithCoursesById(studentId).get().getCourses())
+                .extracting(Course::getName).containsExactly("iOS");
+    }
+
+    @Test
+    void unenrollRemovesOnlyThatRow() {
+        Long ios = entityManager.persistAndGetId(new Course("iOS", 3), Long.class);
+        Long android = entityManager.persistAndGetId(new Course("Android", 2), Long.class);
+        Long studentId = entityManager.persistAndGetId(new Student("Mark", "Michaelson", LocalDate.of(2004, 1, 20), Gender.M), Long.class);
+        entityManager.flush();
+        enrollmentRepository.enroll(studentId, ios);
+        enrollmentRepository.enroll(studentId, android);
+
+        assertThat(enrollmentRepository.unenroll(studentId, ios)).isTrue();
+        assertThat(enrollmentRepository.unenroll(studentId, ios)).isFalse();
+        entityManager.clear();
+
+        assertThat(studentRepository.findWithCoursesById(studentId).get().getCourses())
+                .extracting(Course::getName).containsExactly("Android");
+    }
+
+    @Test
+    void countByCourseIdsGroupsOnTheJoinTable() {
+        Long ios = entityManager.persistAndGetId(new Course("iOS", 3), Long.class);
+        Long android = entityManager.persistAndGetId(new Course("Android", 2), Long.class);
+        Long hacking = entityManager.persistAndGetId(new Course("Ethical Hacking", 2), Long.class);
+        Long mark = entityManager.persistAndGetId(new Student("Mark", "Michaelson", LocalDate.of(2004, 1, 20), Gender.M), Long.class);
+        Long mei = entityManager.persistAndGetId(new Student("Mei", "Cheng", LocalDate.of(1999, 3, 14), Gender.V), Long.class);
+        entityManager.flush();
+        enrollmentRepository.enroll(mark, ios);
+        enrollmentRepository.enroll(mei, ios);
+        enrollmentRepository.enroll(mark, android);
+
+        assertThat(enrollmentRepository.countByCourseIds(List.of(ios, android, hacking)))
+                .containsEntry(ios, 2L)
+                .containsEntry(android, 1L)
+                .doesNotContainKey(hacking);
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.repository;
+
+import org.example.domain.Course;
+import org.example.domain.Gender;
+import org.example.configuration.SqlAccountingConfigurer;
+import org.example.domain.Student;
+import org.example.instrumentation.SqlCounts;
+import org.example.response.StudentResponse;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.instrumentation.SqlAssertions.assertMaxStatements;
+
+@DataJpaTest
+@Import(SqlAccountingConfigurer.class)
+class StudentRepositoryTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long enrolledStudent() {
+        Course backend = entityManager.persist(new Course("Backend Programming", 3));
+        Course ios = entityManager.persist(new Course("iOS", 3));
+        Student john = new Student("John", "Johnson", LocalDate.of(2002, 9, 6), Gender.M);
+        john.getCourses().add(backend);
+        john.getCourses().add(ios);
+        Long id = entityManager.persistAndGetId(john, Long.class);
+        entityManager.flush();
+        entityManager.clear();
+        return id;
+    }
+
+    @Test
+    void findByIdLeavesCoursesLazy() {
+        Long id = enrolledStudent();
+
+        Student student = studentRepository.findById(id).get();
+        assertThat(Hibernate.isInitialized(student.getCourses())).isFalse();
+    }
+
+    @Test
+    void findWithCoursesByIdFetchesCourses() {
+        Long id = enrolledStudent();
+
+        SqlCounts counts = assertMaxStatements(1, () -> {
+            Student student = studentRepository.findWithCoursesById(id).get();
+            assertThat(Hibernate.isInitialized(student.getCourses())).isTrue();
+            assertThat(student.getCourses()).hasSize(2);
+        });
+        assertThat(counts.getEntities()).isEqualTo(3);
+    }
+
+    @Test
+    void addCourseLinksADetachedCourseWithoutLoadingItsStudents() {
+        Long courseId = entityManager.persistAndGetId(new Course("Ethical Hacking", 2), Long.class);
+        entityManager.flush();
+        entityManager.clear();
+        Course hacking = entityManager.find(Course.class, courseId);
+        entityManager.detach(hacking);
+
+        Student john = new Student("John", "Johnson", LocalDate.of(2002, 9, 6), Gender.M);
+        john.addCourse(hacking);
+        Long id = entityManager.persistAndGetId(john, Long.class);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(Hibernate.isInitialized(hacking.getLectors())).isFalse();
+        assertThat(studentRepository.findWithCoursesById(id).get().getCourses())
+                .extracting(Course::getId).containsExactly(courseId);
+    }
+
+    @Test
+    void findAllWithCoursesByIdInFetchesCoursesInOneStatement() {
+        Long john = enrolledStudent();
+        Long mei = entityManager.persistAndGetId(new Student("Mei", "Cheng", LocalDate.of(1999, 3, 14), Gender.V), Long.class);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertMaxStatements(1, () -> {
+            List<Student> students = studentRepository.findAllWithCoursesByIdIn(List.of(john, mei, -1L));
+            assertThat(students).extracting(Student::getId).containsExactlyInAnyOrder(john, mei);
+            assertThat(students).allMatch(student -> Hibernate.isInitialized(student.getCourses()));
+            assertThat(students).flatExtracting(Student::getCourses).hasSize(2);
+        });
+    }
+
+    @Test
+    void findAllProjectedBy() {
+        enrolledStudent();
+        entityManager.persist(new Student("Mei", "Cheng", LocalDate.of(1999, 3, 14), Gender.V));
+
+        entityManager.flush();
+
+        SqlCounts counts = assertMaxStatements(2, () -> {
+            Page<StudentResponse> page = studentRepository.findAllProjectedBy(PageRequest.of(0, 10, Sort.by("lastName")));
+            assertThat(page.getTotalElements()).isEqualTo(2);
+            assertThat(page.getContent()).extracting(StudentResponse::getName).containsExactly("Cheng Mei", "Johnson John");
+            assertThat(page.getContent().get(1).getGender()).isEqualTo("M");
+        });
+        assertThat(counts.getEntities()).isZero();
+    }
+
+    @Test
+    void findAllProjectedByCourseIdAfterSeeksWithinTheRoster() {
+        Course ios = entityManager.persist(new Course("iOS", 3));
+        List<Long> ids = new ArrayList<>();
+        for (String name : List.of("Anna", "Bert", "Carl")) {
+            Student student = new Student(name, "Peeters", LocalDate.of(2001, 5, 1), Gender.M);
+            student.getCourses().add(ios);
+            ids.add(entityManager.persistAndGetId(student, Long.class));
+        }
+        entityManager.persist(new Student("Dirk", "Peeters", LocalDate.of(2001, 5, 1), Gender.M));
+
+        List<StudentResponse> page = studentRepository.findAllProjectedByCourseIdAfter(ios.getId(), ids.get(0), PageRequest.of(0, 10));
+        assertThat(page).extracting(StudentResponse::getId).containsExactly(ids.get(1), ids.get(2));
+    }
+}
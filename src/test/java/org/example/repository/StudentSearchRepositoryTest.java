@@ -0,0 +1,70 @@
+package org.example.repository;
+
+import org.example.domain.Gender;
+import org.example.domain.Student;
+import org.example.response.StudentResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(StudentSearchRepository.class)
+class StudentSearchRepositoryTest {
+
+    @Autowired
+    private StudentSearchRepository studentSearchRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long persist(String firstName, String lastName) {
+        return entityManager.persistAndGetId(new Student(firstName, lastName, LocalDate.of(2002, 9, 6), Gender.M), Long.class);
+    }
+
+    @Test
+    void everyTokenMustPrefixMatchAWordOfEitherName() {
+        persist("John", "Johnson");
+        persist("Zoë", "Jöhannsen");
+        persist("Johan", "Peeters");
+        persist("Jean-Luc", "van der Berg");
+        entityManager.flush();
+
+        assertThat(studentSearchRepository.findByNameTokens(new String[]{"joh"}, 10))
+                .extracting(StudentResponse::getName)
+                .containsExactly("Jöhannsen Zoë", "Johnson John", "Peeters Johan");
+        assertThat(studentSearchRepository.findByNameTokens(new String[]{"joh"}, 2)).hasSize(2);
+        assertThat(studentSearchRepository.findByNameTokens(new String[]{"joh", "pee"}, 10))
+                .extracting(StudentResponse::getName).containsExactly("Peeters Johan");
+        assertThat(studentSearchRepository.findByNameTokens(new String[]{"luc", "berg"}, 10))
+                .extracting(StudentResponse::getName).containsExactly("van der Berg Jean-Luc");
+        assertThat(studentSearchRepository.findByNameTokens(new String[]{"ohn"}, 10)).isEmpty();
+        assertThat(studentSearchRepository.findByNameTokens(new String[]{"j_"}, 10)).isEmpty();
+    }
+
+    @Test
+    void backfillFillsInMissingSearchColumns() {
+        Long john = persist("John", "Johnson");
+        Long jeanLuc = persist("Jean-Luc", "Picard");
+        entityManager.flush();
+        jdbcTemplate.update("update student set search_first_name = null, search_last_name = null where id = ?", john);
+        jdbcTemplate.update("update student set search_first_name = 'jean-luc' where id = ?", jeanLuc);
+
+        assertThat(studentSearchRepository.backfillSearchNames()).isEqualTo(2);
+
+        assertThat(studentSearchRepository.findByNameTokens(new String[]{"john"}, 10))
+                .extracting(StudentResponse::getId).containsExactly(john);
+        assertThat(studentSearchRepository.findByNameTokens(new String[]{"luc"}, 10))
+                .extracting(StudentResponse::getId).containsExactly(jeanLuc);
+        assertThat(studentSearchRepository.backfillSearchNames()).isZero();
+    }
+}
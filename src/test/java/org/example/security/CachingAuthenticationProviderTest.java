@@ -0,0 +1,56 @@
+package org.example.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CachingAuthenticationProviderTest {
+
+    private AuthenticationProvider delegate;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(AuthenticationProvider.class);
+        when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            Authentication request = invocation.getArgument(0);
+            if (!"&S&CR&T!".equals(request.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return new UsernamePasswordAuthenticationToken(request.getName(), null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+        });
+        provider = new CachingAuthenticationProvider(delegate, Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void repeatedCredentialsAreVerifiedOnce() {
+        Authentication first = provider.authenticate(new UsernamePasswordAuthenticationToken("spring", "&S&CR&T!"));
+        Authentication second = provider.authenticate(new UsernamePasswordAuthenticationToken("spring", "&S&CR&T!"));
+
+        assertThat(second).isSameAs(first);
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    void wrongPasswordIsNeverServedFromCache() {
+        provider.authenticate(new UsernamePasswordAuthenticationToken("spring", "&S&CR&T!"));
+
+        assertThatThrownBy(() -> provider.authenticate(new UsernamePasswordAuthenticationToken("spring", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> provider.authenticate(new UsernamePasswordAuthenticationToken("spring", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(delegate, times(3)).authenticate(any());
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.seed;
+
+import org.example.repository.CourseRepository;
+import org.example.repository.EnrollmentRepository;
+import org.example.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(EnrollmentRepository.class)
+class DataSeederTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Test
+    void seedsStudentsCoursesAndZipfSkewedEnrollments() {
+        DataSeeder seeder = new DataSeeder(entityManager, transactionManager, enrollmentRepository);
+
+        SeedReport report = seeder.seed(new SeedPlan(500, 10, 1, 3, 1.0, 42, 100));
+
+        assertThat(studentRepository.count()).isEqualTo(500);
+        assertThat(courseRepository.count()).isEqualTo(10);
+        assertThat(report.getEnrollments()).isBetween(500L, 1500L);
+
+        List<Long> courseIds = entityManager.createQuery("select c.id from Course c order by c.id", Long.class).getResultList();
+        Map<Long, Long> counts = enrollmentRepository.countByCourseIds(courseIds);
+        assertThat(counts.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(report.getEnrollments());
+        assertThat(counts.get(courseIds.get(0))).isGreaterThan(counts.getOrDefault(courseIds.get(9), 0L) * 3);
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagsTest {
+
+    @Test
+    void joinsPartsIntoOneStrongTag() {
+        assertThat(ETags.of(3L, 2, 7L)).isEqualTo("\"3-2-7\"");
+    }
+
+    @Test
+    void weakComparisonAcceptsWeakTags() {
+        assertThat(ETags.matchesWeakly("W/\"3\"", "\"3\"")).isTrue();
+        assertThat(ETags.matchesWeakly("\"2\", \"3\"", "\"3\"")).isTrue();
+        assertThat(ETags.matchesWeakly("*", "\"3\"")).isTrue();
+        assertThat(ETags.matchesWeakly("\"2\"", "\"3\"")).isFalse();
+        assertThat(ETags.matchesWeakly(null, "\"3\"")).isFalse();
+    }
+
+    @Test
+    void strongComparisonRejectsWeakTags() {
+        assertThat(ETags.matchesStrongly("W/\"3\"", "\"3\"")).isFalse();
+        assertThat(ETags.matchesStrongly("\"2\", \"3\"", "\"3\"")).isTrue();
+        assertThat(ETags.matchesStrongly("*", "\"3\"")).isTrue();
+        assertThat(ETags.matchesStrongly("\"2\"", "\"3\"")).isFalse();
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.service;
+
+import org.example.configuration.CacheConfigurer;
+import org.example.datasource.ReplicaLagGuard;
+import org.example.domain.Course;
+import org.example.domain.Gender;
+import org.example.domain.Student;
+import org.example.exceptions.ResourceNotFoundException;
+import org.example.repository.CourseRepository;
+import org.example.repository.EnrollmentRepository;
+import org.example.repository.StudentRepository;
+import org.example.response.EnrollmentResultResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.example.response.EnrollmentStatus.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.transaction.annotation.Propagation.NOT_SUPPORTED;
+
+// Runs outside the test-managed transaction so that commits, rollbacks and evictions happen as in production.
+@DataJpaTest
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import({CacheConfigurer.class, EnrollmentService.class, ReplicaLagGuard.class, EnrollmentRepository.class})
+@Transactional(propagation = NOT_SUPPORTED)
+class EnrollmentServiceTest {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @SpyBean
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long john;
+    private Long mei;
+    private Long ios;
+    private Long android;
+
+    @BeforeEach
+    void createStudentsAndCourses() {
+        john = studentRepository.save(new Student("John", "Johnson", LocalDate.of(2002, 9, 6), Gender.M)).getId();
+        mei = studentRepository.save(new Student("Mei", "Cheng", LocalDate.of(1999, 3, 14), Gender.V)).getId();
+        ios = courseRepository.save(new Course("iOS", 3)).getId();
+        android = courseRepository.save(new Course("Android", 2)).getId();
+    }
+
+    @AfterEach
+    void deleteAll() {
+        jdbcTemplate.update("delete from student_courses");
+        jdbcTemplate.update("delete from student");
+        jdbcTemplate.update("delete from course");
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    private void enrollDirectly(Long studentId, Long courseId) {
+        jdbcTemplate.update("insert into student_courses (student_id, course_id) values (?, ?)", studentId, courseId);
+    }
+
+    private long enrollments() {
+        return jdbcTemplate.queryForObject("select count(*) from student_courses", Long.class);
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+    @Test
+    void enrollsStudentsInCourseAndReportsDuplicatesAndUnknownIds() {
+        enrollDirectly(john, ios);
+
+        List<EnrollmentResultResponse> results = enrollmentService.enrollStudentsInCourse(ios, List.of(john, mei, mei, -1L));
+
+        assertThat(results).extracting(EnrollmentResultResponse::getStudentId).containsExactly(john, mei, mei, -1L);
+        assertThat(results).extracting(EnrollmentResultResponse::getStatus)
+                .containsExactly(ALREADY_ENROLLED, ENROLLED, ALREADY_ENROLLED, STUDENT_NOT_FOUND);
+        assertThat(enrollments()).isEqualTo(2);
+    }
+
+    @Test
+    void enrollsStudentInCoursesAndReportsDuplicatesAndUnknownIds() {
+        enrollDirectly(john, ios);
+
+        List<EnrollmentResultResponse> results = enrollmentService.enrollStudentInCourses(john, List.of(ios, android, -1L, android));
+
+        assertThat(results).extracting(EnrollmentResultResponse::getCourseId).containsExactly(ios, android, -1L, android);
+        assertThat(results).extracting(EnrollmentResultResponse::getStatus)
+                .containsExactly(ALREADY_ENROLLED, ENROLLED, COURSE_NOT_FOUND, ALREADY_ENROLLED);
+        assertThat(enrollments()).isEqualTo(2);
+    }
+
+    @Test
+    void unknownTargetIsNotFound() {
+        assertThatThrownBy(() -> enrollmentService.enrollStudentsInCourse(-1L, List.of(john)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> enrollmentService.enrollStudentInCourses(-1L, List.of(ios)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(enrollments()).isZero();
+    }
+
+    private void cacheBoth(Long... studentIds) {
+        for (String name : List.of(StudentService.STUDENT_CACHE, StudentService.STUDENT_WITH_COURSES_CACHE)) {
+            for (Long studentId : studentIds) {
+                cache(name).put(studentId, "cached");
+            }
+        }
+    }
+
+    @Test
+    void enrollingOneStudentEvictsOnlyThatStudent() {
+        cacheBoth(john, mei);
+
+        enrollmentService.enrollStudentInCourses(john, List.of(ios));
+
+        for (String name : List.of(StudentService.STUDENT_CACHE, StudentService.STUDENT_WITH_COURSES_CACHE)) {
+            assertThat(cache(name).get(john)).isNull();
+            assertThat(cache(name).get(mei)).isNotNull();
+        }
+    }
+
+    @Test
+    void enrollingARosterClearsBothCaches() {
+        cacheBoth(john, mei);
+
+        enrollmentService.enrollStudentsInCourse(ios, List.of(mei));
+
+        for (String name : List.of(StudentService.STUDENT_CACHE, StudentService.STUDENT_WITH_COURSES_CACHE)) {
+            assertThat(cache(name).get(john)).isNull();
+            assertThat(cache(name).get(mei)).isNull();
+        }
+    }
+
+    @Test
+    void rolledBackEnrollmentKeepsTheCaches() {
+        cache(StudentService.STUDENT_WITH_COURSES_CACHE).put(mei, "mei");
+        doThrow(new IllegalStateException("boom")).when(enrollmentRepository).touchStudents(any());
+
+        assertThatThrownBy(() -> enrollmentService.enrollStudentsInCourse(ios, List.of(mei)))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache(StudentService.STUDENT_WITH_COURSES_CACHE).get(mei)).isNotNull();
+        assertThat(enrollments()).isZero();
+    }
+
+    @Test
+    void pairEnrolledConcurrentlyIsReportedAsAlreadyEnrolled() {
+        TransactionTemplate concurrentRequest = new TransactionTemplate(transactionManager);
+        concurrentRequest.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        doAnswer(invocation -> {
+            concurrentRequest.executeWithoutResult(status -> enrollDirectly(mei, ios));
+            throw new DuplicateKeyException("student_courses");
+        }).doCallRealMethod().when(enrollmentRepository).enrollAll(any());
+
+        List<EnrollmentResultResponse> results = enrollmentService.enrollStudentsInCourse(ios, List.of(john, mei));
+
+        assertThat(results).extracting(EnrollmentResultResponse::getStatus).containsExactly(ENROLLED, ALREADY_ENROLLED);
+        assertThat(enrollments()).isEqualTo(2);
+    }
+}
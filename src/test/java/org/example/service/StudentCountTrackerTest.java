@@ -0,0 +1,100 @@
+package org.example.service;
+
+import org.example.domain.Gender;
+import org.example.domain.Student;
+import org.example.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.transaction.annotation.Propagation.NOT_SUPPORTED;
+
+// Runs outside the test-managed transaction so that the tracker sees real commits and rollbacks.
+@DataJpaTest
+@Transactional(propagation = NOT_SUPPORTED)
+class StudentCountTrackerTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private StudentCountTracker studentCountTracker;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void createStudents() {
+        studentCountTracker = new StudentCountTracker(studentRepository);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        saveStudent("John");
+        saveStudent("Mei");
+    }
+
+    @AfterEach
+    void deleteStudents() {
+        jdbcTemplate.update("delete from student");
+    }
+
+    private void saveStudent(String firstName) {
+        studentRepository.save(new Student(firstName, "Johnson", LocalDate.of(2002, 9, 6), Gender.M));
+    }
+
+    @Test
+    void countsOnFirstUseAndFollowsAddsAndRemoves() {
+        assertThat(studentCountTracker.approximateTotal()).isEqualTo(2);
+
+        studentCountTracker.added(3);
+        assertThat(studentCountTracker.approximateTotal()).isEqualTo(5);
+
+        studentCountTracker.removed(10);
+        assertThat(studentCountTracker.approximateTotal()).isZero();
+    }
+
+    @Test
+    void changesBeforeTheFirstCountAreLeftToTheCount() {
+        studentCountTracker.added(3);
+
+        assertThat(studentCountTracker.approximateTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void changesApplyOnlyWhenTheirTransactionCommits() {
+        studentCountTracker.refresh();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            studentCountTracker.added(1);
+            assertThat(studentCountTracker.approximateTotal()).isEqualTo(2);
+        });
+        assertThat(studentCountTracker.approximateTotal()).isEqualTo(3);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            studentCountTracker.removed(1);
+            status.setRollbackOnly();
+        });
+        assertThat(studentCountTracker.approximateTotal()).isEqualTo(3);
+    }
+
+    @Test
+    void refreshReplacesTheEstimateWithTheRealCount() {
+        studentCountTracker.refresh();
+        studentCountTracker.added(40);
+        saveStudent("Zoë");
+
+        studentCountTracker.refresh();
+
+        assertThat(studentCountTracker.approximateTotal()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.domain.Course;
+import org.example.domain.Gender;
+import org.example.domain.Student;
+import org.example.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class StudentExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long backend;
+    private Long ios;
+
+    @BeforeEach
+    void enrollStudents() {
+        Course backendCourse = entityManager.persist(new Course("Backend Programming", 3));
+        Course iosCourse = entityManager.persist(new Course("iOS", 3));
+        backend = backendCourse.getId();
+        ios = iosCourse.getId();
+
+        // John and Mark have courses, Mei in between has none, which is where the two cursors must stay aligned.
+        Student john = new Student("John", "Johnson", LocalDate.of(2002, 9, 6), Gender.M);
+        john.getCourses().add(backendCourse);
+        john.getCourses().add(iosCourse);
+        entityManager.persist(john);
+        entityManager.persist(new Student("Mei", "Cheng", LocalDate.of(1999, 3, 14), Gender.V));
+        Student mark = new Student("Mark", "Michaelson", LocalDate.of(2004, 1, 20), Gender.M);
+        mark.getCourses().add(iosCourse);
+        entityManager.persist(mark);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<JsonNode> export(boolean withCourses) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new StudentExportService(studentRepository, entityManager.getEntityManager(), objectMapper).exportStudents(out, withCourses);
+
+        String ndjson = out.toString(StandardCharsets.UTF_8);
+        assertThat(ndjson).endsWith("\n");
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        return rows;
+    }
+
+    private static List<Long> courseIds(JsonNode row) {
+        List<Long> courseIds = new ArrayList<>();
+        row.get("courseIds").forEach(id -> courseIds.add(id.asLong()));
+        return courseIds;
+    }
+
+    @Test
+    void exportsOneLinePerStudentWithoutCourses() throws IOException {
+        List<JsonNode> rows = export(false);
+
+        assertThat(rows).extracting(row -> row.get("firstName").asText()).containsExactly("John", "Mei", "Mark");
+        assertThat(rows).allMatch(row -> !row.has("courseIds"));
+        assertThat(rows.get(1).get("birthDate").asText()).isEqualTo("1999-03-14");
+        assertThat(rows.get(1).get("gender").asText()).isEqualTo("V");
+    }
+
+    @Test
+    void mergesEnrollmentsIntoTheRightStudents() throws IOException {
+        List<JsonNode> rows = export(true);
+
+        assertThat(rows).extracting(row -> row.get("firstName").asText()).containsExactly("John", "Mei", "Mark");
+        assertThat(courseIds(rows.get(0))).containsExactlyInAnyOrder(backend, ios);
+        assertThat(courseIds(rows.get(1))).isEmpty();
+        assertThat(courseIds(rows.get(2))).containsExactly(ios);
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.repository.StudentRepository;
+import org.example.response.ImportErrorResponse;
+import org.example.response.StudentImportResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.transaction.annotation.Propagation.NOT_SUPPORTED;
+
+// Every batch commits in its own transaction, so the tests run outside the test-managed one.
+@DataJpaTest
+@Transactional(propagation = NOT_SUPPORTED)
+class StudentImportServiceTest {
+
+    private static final String VALID = "{\"firstName\":\"John\",\"lastName\":\"Johnson\",\"birthDate\":\"2002-09-06\",\"gender\":\"M\"}";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private final StudentCountTracker studentCountTracker = mock(StudentCountTracker.class);
+
+    @AfterEach
+    void deleteStudents() {
+        studentRepository.deleteAll();
+    }
+
+    private StudentImportResponse importLines(int batchSize, int maxReportedErrors, String... lines) throws IOException {
+        StudentImportService service = new StudentImportService(entityManager, transactionManager,
+                new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                studentCountTracker, mock(StudentNameIndex.class), batchSize, maxReportedErrors);
+        return service.importStudents(new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void importsValidRowsInBatches() throws IOException {
+        StudentImportResponse response = importLines(2, 10, VALID, VALID, "", VALID, VALID, VALID);
+
+        assertThat(response.getImported()).isEqualTo(5);
+        assertThat(response.getFailed()).isZero();
+        assertThat(response.getErrors()).isEmpty();
+        assertThat(studentRepository.count()).isEqualTo(5);
+        verify(studentCountTracker, times(2)).added(2);
+        verify(studentCountTracker).added(1);
+    }
+
+    @Test
+    void reportsInvalidRowsWithTheirLineNumbers() throws IOException {
+        StudentImportResponse response = importLines(2, 10,
+                VALID,
+                "{\"firstName\":",
+                "{\"firstName\":\"Mei\",\"birthDate\":\"1999-03-14\",\"gender\":\"V\"}",
+                "{\"firstName\":\"Mei\",\"lastName\":\"Cheng\",\"birthDate\":\"1999-03-14\",\"gender\":\"X\"}",
+                "null",
+                VALID);
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(4);
+        assertThat(response.getErrors()).extracting(ImportErrorResponse::getLine).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(response.getErrors()).extracting(ImportErrorResponse::getMessage)
+                .satisfies(messages -> {
+                    assertThat(messages.get(0)).startsWith("Malformed JSON");
+                    assertThat(messages.get(1)).startsWith("lastName:");
+                    assertThat(messages.get(2)).isEqualTo("gender: must be one of M, V");
+                    assertThat(messages.get(3)).isEqualTo("Expected a student object");
+                });
+        assertThat(studentRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void capsReportedErrorsButCountsAllFailures() throws IOException {
+        StudentImportResponse response = importLines(2, 2, "{", "{", VALID, "{", "{");
+
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(4);
+        assertThat(response.getErrors()).extracting(ImportErrorResponse::getLine).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void databaseFailureRollsBackOnlyThatBatch() throws IOException {
+        String tooLong = "{\"firstName\":\"John\",\"lastName\":\"" + "x".repeat(300) + "\",\"birthDate\":\"2002-09-06\",\"gender\":\"M\"}";
+
+        StudentImportResponse response = importLines(2, 10, VALID, VALID, VALID, tooLong, VALID);
+
+        assertThat(response.getImported()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(response.getFailedBatches()).isEqualTo(1);
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(3);
+            assertThat(error.getMessage()).startsWith("Lines 3-4 were not imported: ");
+        });
+        assertThat(studentRepository.count()).isEqualTo(3);
+        verify(studentCountTracker).added(2);
+        verify(studentCountTracker).added(1);
+        verifyNoMoreInteractions(studentCountTracker);
+    }
+}
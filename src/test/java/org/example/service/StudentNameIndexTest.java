@@ -0,0 +1,62 @@
+package org.example.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class StudentNameIndexTest {
+
+    private StudentNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new StudentNameIndex(mock(DataSource.class), true);
+        index.put(1L, "John", "Johnson");
+        index.put(2L, "Mei", "Cheng");
+        index.put(3L, "Zoë", "Jöhannsen");
+        index.put(4L, "Johan", "Peeters");
+    }
+
+    @Test
+    void matchesPrefixesIgnoringCaseAndAccents() {
+        assertThat(index.search("JOH", 10)).containsExactlyInAnyOrder(1L, 3L, 4L);
+        assertThat(index.search("zoe", 10)).containsExactly(3L);
+    }
+
+    @Test
+    void ranksExactAndLastNameMatchesFirst() {
+        assertThat(index.search("johnson", 10)).containsExactly(1L);
+        assertThat(index.search("john", 10).get(0)).isEqualTo(1L);
+        assertThat(index.search("joh", 2)).hasSize(2);
+    }
+
+    @Test
+    void exactMatchesAreRankedEvenBehindManyPrefixMatches() {
+        for (int i = 0; i < 60; i++) {
+            index.put(100L + i, "Bertrand" + (char) ('a' + i / 26) + (char) ('a' + i % 26), "Anders");
+        }
+        index.put(5L, "Bertrandz", "An");
+
+        assertThat(index.search("an bertrand", 1)).containsExactly(5L);
+    }
+
+    @Test
+    void everyQueryTokenMustMatch() {
+        assertThat(index.search("mei ch", 10)).containsExactly(2L);
+        assertThat(index.search("mei johnson", 10)).isEmpty();
+    }
+
+    @Test
+    void removedAndRenamedStudentsAreNoLongerFound() {
+        index.remove(2L);
+        index.put(4L, "Johan", "Vermeulen");
+
+        assertThat(index.search("cheng", 10)).isEmpty();
+        assertThat(index.search("peeters", 10)).isEmpty();
+        assertThat(index.search("verm", 10)).containsExactly(4L);
+    }
+}
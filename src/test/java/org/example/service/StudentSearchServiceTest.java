@@ -0,0 +1,72 @@
+package org.example.service;
+
+import org.example.domain.Gender;
+import org.example.repository.StudentRepository;
+import org.example.repository.StudentSearchRepository;
+import org.example.response.StudentResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class StudentSearchServiceTest {
+
+    private static final StudentResponse JOHN = new StudentResponse(1L, "John", "Johnson", LocalDate.of(2002, 9, 6), Gender.M);
+    private static final StudentResponse JOHAN = new StudentResponse(4L, "Johan", "Peeters", LocalDate.of(2001, 5, 1), Gender.M);
+
+    private StudentRepository studentRepository;
+    private StudentSearchRepository studentSearchRepository;
+    private StudentNameIndex studentNameIndex;
+    private StudentSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = mock(StudentRepository.class);
+        studentSearchRepository = mock(StudentSearchRepository.class);
+        studentNameIndex = mock(StudentNameIndex.class);
+        searchService = new StudentSearchService(studentRepository, studentSearchRepository, studentNameIndex);
+    }
+
+    @Test
+    void readyIndexKeepsItsRankingAndSkipsDeletedStudents() {
+        when(studentNameIndex.isReady()).thenReturn(true);
+        when(studentNameIndex.search("joh", 10)).thenReturn(List.of(4L, 9L, 1L));
+        when(studentRepository.findAllProjectedByIdIn(List.of(4L, 9L, 1L))).thenReturn(List.of(JOHN, JOHAN));
+
+        assertThat(searchService.searchStudents("joh", 10)).containsExactly(JOHAN, JOHN);
+        verifyNoInteractions(studentSearchRepository);
+    }
+
+    @Test
+    void readyIndexWithoutHitsSkipsTheDatabase() {
+        when(studentNameIndex.isReady()).thenReturn(true);
+        when(studentNameIndex.search("xyz", 10)).thenReturn(List.of());
+
+        assertThat(searchService.searchStudents("xyz", 10)).isEmpty();
+        verifyNoInteractions(studentRepository, studentSearchRepository);
+    }
+
+    @Test
+    void fallsBackToATokenQueryUntilTheIndexIsReady() {
+        when(studentSearchRepository.findByNameTokens(new String[]{"joh", "peeters"}, StudentSearchService.MAX_LIMIT))
+                .thenReturn(List.of(JOHN));
+
+        assertThat(searchService.searchStudents(" JÖH  Peeters", 500)).containsExactly(JOHN);
+        verify(studentNameIndex, never()).search(any(), anyInt());
+    }
+
+    @Test
+    void fallbackClampsTheLimitAndIgnoresEmptyQueries() {
+        searchService.searchStudents("mei", 0);
+        verify(studentSearchRepository).findByNameTokens(new String[]{"mei"}, 1);
+
+        assertThat(searchService.searchStudents(" -- ", 10)).isEmpty();
+        verifyNoMoreInteractions(studentSearchRepository);
+        verifyNoInteractions(studentRepository);
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.service;
+
+import org.example.datasource.ReplicaLagGuard;
+import org.example.domain.Gender;
+import org.example.repository.CourseRepository;
+import org.example.repository.EnrollmentRepository;
+import org.example.repository.StudentRepository;
+import org.example.response.StudentResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class StudentServiceApproximateTotalTest {
+
+    private static final List<StudentResponse> PAGE = List.of(
+            new StudentResponse(4L, "Mei", "Cheng", LocalDate.of(1999, 3, 14), Gender.V),
+            new StudentResponse(7L, "John", "Johnson", LocalDate.of(2002, 9, 6), Gender.M));
+
+    private StudentRepository studentRepository;
+    private StudentCountTracker studentCountTracker;
+    private StudentService studentService;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = mock(StudentRepository.class);
+        studentCountTracker = mock(StudentCountTracker.class);
+        studentService = new StudentService(studentRepository, mock(CourseRepository.class), mock(EnrollmentRepository.class),
+                studentCountTracker, mock(StudentNameIndex.class),
+                new ReplicaLagGuard(false, Duration.ofSeconds(5)), mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void totalComesFromTheTrackerWithoutCounting() {
+        PageRequest pageable = PageRequest.of(1, 2);
+        when(studentRepository.findAllSlicedBy(pageable)).thenReturn(new SliceImpl<>(PAGE, pageable, true));
+        when(studentCountTracker.approximateTotal()).thenReturn(57L);
+
+        Page<StudentResponse> page = studentService.findAllStudentsWithApproximateTotal(pageable);
+
+        assertThat(page.getContent()).isEqualTo(PAGE);
+        assertThat(page.getTotalElements()).isEqualTo(57);
+        verify(studentRepository, never()).count();
+    }
+
+    @Test
+    void staleTotalStillLeavesRoomForTheNextPage() {
+        PageRequest pageable = PageRequest.of(1, 2);
+        when(studentRepository.findAllSlicedBy(pageable)).thenReturn(new SliceImpl<>(PAGE, pageable, true));
+        when(studentCountTracker.approximateTotal()).thenReturn(1L);
+
+        Page<StudentResponse> page = studentService.findAllStudentsWithApproximateTotal(pageable);
+
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.hasNext()).isTrue();
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.service;
+
+import org.example.configuration.CacheConfigurer;
+import org.example.datasource.ReplicaLagGuard;
+import org.example.domain.Course;
+import org.example.domain.Gender;
+import org.example.domain.Student;
+import org.example.repository.CourseRepository;
+import org.example.repository.EnrollmentRepository;
+import org.example.repository.StudentRepository;
+import org.example.request.CourseRequest;
+import org.example.request.StudentRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.service.StudentService.STUDENT_CACHE;
+import static org.example.service.StudentService.STUDENT_WITH_COURSES_CACHE;
+import static org.springframework.transaction.annotation.Propagation.NOT_SUPPORTED;
+
+// Runs outside the test-managed transaction so every service call commits like it does in production.
+@DataJpaTest
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import({CacheConfigurer.class, StudentService.class, StudentCountTracker.class, StudentNameIndex.class,
+        ReplicaLagGuard.class, EnrollmentRepository.class})
+@Transactional(propagation = NOT_SUPPORTED)
+class StudentServiceCacheTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long studentId;
+    private Long courseId;
+
+    @BeforeEach
+    void createStudentAndCourse() {
+        studentId = studentRepository.save(new Student("John", "Johnson", LocalDate.of(2002, 9, 6), Gender.M)).getId();
+        courseId = courseRepository.save(new Course("Backend Programming", 3)).getId();
+    }
+
+    @AfterEach
+    void deleteAll() {
+        jdbcTemplate.update("delete from student_courses");
+        jdbcTemplate.update("delete from student");
+        jdbcTemplate.update("delete from course");
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    private void readBoth() {
+        studentService.retrieveStudentById(studentId);
+        studentService.retrieveStudentByIdWithCourses(studentId);
+        assertThat(cached(STUDENT_CACHE)).isTrue();
+        assertThat(cached(STUDENT_WITH_COURSES_CACHE)).isTrue();
+    }
+
+    private boolean cached(String cacheName) {
+        return cacheManager.getCache(cacheName).get(studentId) != null;
+    }
+
+    private void assertEvicted() {
+        assertThat(cached(STUDENT_CACHE)).isFalse();
+        assertThat(cached(STUDENT_WITH_COURSES_CACHE)).isFalse();
+    }
+
+    private static StudentRequest studentRequest(String firstName) {
+        StudentRequest request = new StudentRequest();
+        request.setFirstName(firstName);
+        request.setLastName("Johnson");
+        request.setBirthDate(LocalDate.of(2002, 9, 6));
+        request.setGender("M");
+        return request;
+    }
+
+    private CourseRequest courseRequest() {
+        CourseRequest request = new CourseRequest();
+        request.setId(courseId);
+        return request;
+    }
+
+    @Test
+    void secondReadIsServedFromTheCache() {
+        assertThat(studentService.retrieveStudentById(studentId))
+                .isSameAs(studentService.retrieveStudentById(studentId));
+        assertThat(studentService.retrieveStudentByIdWithCourses(studentId))
+                .isSameAs(studentService.retrieveStudentByIdWithCourses(studentId));
+    }
+
+    @Test
+    void putEvictsBothCaches() {
+        readBoth();
+
+        studentService.putStudent(studentId, studentRequest("Johnny"), null);
+
+        assertEvicted();
+        assertThat(studentService.retrieveStudentById(studentId).getName()).isEqualTo("Johnson Johnny");
+    }
+
+    @Test
+    void patchEvictsBothCaches() {
+        readBoth();
+
+        StudentRequest request = new StudentRequest();
+        request.setGsmNumber("0470123456");
+        studentService.patchStudent(studentId, request, null);
+
+        assertEvicted();
+    }
+
+    @Test
+    void deleteEvictsBothCaches() {
+        readBoth();
+
+        studentService.deleteStudent(studentId);
+
+        assertEvicted();
+    }
+
+    @Test
+    void enrollmentChangesEvictBothCaches() {
+        readBoth();
+
+        studentService.addCourseToStudent(studentId, courseRequest());
+
+        assertEvicted();
+        assertThat(studentService.retrieveStudentByIdWithCourses(studentId).getCourses()).hasSize(1);
+        studentService.retrieveStudentById(studentId);
+
+        studentService.deleteCourseOfStudent(studentId, courseId);
+
+        assertEvicted();
+        assertThat(studentService.retrieveStudentByIdWithCourses(studentId).getCourses()).isEmpty();
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.service;
+
+import org.example.datasource.ReplicaLagGuard;
+import org.example.domain.Course;
+import org.example.repository.CourseRepository;
+import org.example.repository.EnrollmentRepository;
+import org.example.repository.StudentRepository;
+import org.example.request.CourseRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class StudentServiceEnrollmentTest {
+
+    private EnrollmentRepository enrollmentRepository;
+    private PlatformTransactionManager transactionManager;
+    private StudentService studentService;
+
+    @BeforeEach
+    void setUp() {
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        enrollmentRepository = mock(EnrollmentRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(studentRepository.existsById(7L)).thenReturn(true);
+        when(courseRepository.findById(3L)).thenReturn(Optional.of(new Course("iOS", 3)));
+        studentService = new StudentService(studentRepository, courseRepository, enrollmentRepository,
+                mock(StudentCountTracker.class), mock(StudentNameIndex.class),
+                new ReplicaLagGuard(false, Duration.ofSeconds(5)), transactionManager);
+    }
+
+    private static CourseRequest course(Long id) {
+        CourseRequest request = new CourseRequest();
+        request.setId(id);
+        return request;
+    }
+
+    @Test
+    void enrollmentCommitsAndBumpsTheVersion() {
+        when(enrollmentRepository.enroll(7L, 3L)).thenReturn(true);
+
+        studentService.addCourseToStudent(7L, course(3L));
+
+        verify(enrollmentRepository).touchStudent(7L);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void losingAConcurrentEnrollmentRollsBackAndSucceeds() {
+        when(enrollmentRepository.enroll(7L, 3L)).thenThrow(new DuplicateKeyException("student_courses"));
+
+        assertThatCode(() -> studentService.addCourseToStudent(7L, course(3L))).doesNotThrowAnyException();
+
+        verify(enrollmentRepository, never()).touchStudent(any());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+}